@@ -0,0 +1,172 @@
+package com.budgetwise.bench;
+
+import com.budgetwise.BudgetwiseBackendApplication;
+import com.budgetwise.dto.BudgetRequest;
+import com.budgetwise.dto.CategoryBudgetDTO;
+import com.budgetwise.dto.SavingsEntryRequest;
+import com.budgetwise.dto.SavingsGoalRequest;
+import com.budgetwise.model.User;
+import com.budgetwise.repository.UserRepository;
+import com.budgetwise.service.BudgetService;
+import com.budgetwise.service.CategoryDictionary;
+import com.budgetwise.service.RollupService;
+import com.budgetwise.service.SavingsGoalService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Boots the application on a random port against a SQLite file seeded with
+ * one user owning the requested number of expenses, plus budgets and savings
+ * goals. Seeded files are kept under target/jmh-data and reused across runs.
+ */
+public final class BenchmarkDataset {
+
+    public static final String EMAIL = "bench@budgetwise.test";
+    public static final String PASSWORD = "benchpass";
+
+    // Expenses are spread over this many months ending with the current one
+    public static final int MONTHS = 24;
+
+    private static final String[] CATEGORIES =
+            {"Food", "Rent", "Transport", "Shopping", "Utilities", "Health", "Travel", "Salary"};
+
+    private static final int GOALS = 20;
+    private static final int ENTRIES_PER_GOAL = 50;
+    private static final int INSERT_BATCH = 10_000;
+
+    private BenchmarkDataset() {
+    }
+
+    public static ConfigurableApplicationContext start(int expenses) throws Exception {
+        Path dir = Path.of("target", "jmh-data");
+        Files.createDirectories(dir);
+        Path db = dir.resolve("budgetwise-" + expenses + ".db");
+
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(BudgetwiseBackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:sqlite:" + db.toAbsolutePath(),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN"
+                );
+
+        UserRepository users = ctx.getBean(UserRepository.class);
+        if (users.findByEmail(EMAIL).isEmpty()) {
+            seed(ctx, expenses);
+        }
+
+        return ctx;
+    }
+
+    public static User user(ConfigurableApplicationContext ctx) {
+        return ctx.getBean(UserRepository.class).findByEmail(EMAIL).orElseThrow();
+    }
+
+    public static YearMonth currentMonth() {
+        return YearMonth.now();
+    }
+
+    private static void seed(ConfigurableApplicationContext ctx, int expenses) {
+        User user = new User();
+        user.setName("bench");
+        user.setEmail(EMAIL);
+        user.setPassword(ctx.getBean(PasswordEncoder.class).encode(PASSWORD));
+        user.setRole("USER");
+        user = ctx.getBean(UserRepository.class).save(user);
+
+        insertExpenses(ctx, user.getId(), expenses);
+        ctx.getBean(RollupService.class).rebuild();
+
+        BudgetService budgets = ctx.getBean(BudgetService.class);
+        for (int m = 0; m < MONTHS; m++) {
+            BudgetRequest request = new BudgetRequest();
+            request.setMonth(currentMonth().minusMonths(m).toString());
+            request.setTotalBudget(50_000_00);
+
+            List<CategoryBudgetDTO> categories = new ArrayList<>();
+            for (int c = 0; c < CATEGORIES.length - 1; c++) {
+                CategoryBudgetDTO cb = new CategoryBudgetDTO();
+                cb.setCategory(CATEGORIES[c]);
+                cb.setAmount(5_000_00);
+                categories.add(cb);
+            }
+            request.setCategories(categories);
+
+            budgets.saveBudget(user.getId(), request);
+        }
+
+        SavingsGoalService goals = ctx.getBean(SavingsGoalService.class);
+        for (int g = 0; g < GOALS; g++) {
+            SavingsGoalRequest request = new SavingsGoalRequest();
+            request.setName("Goal " + g);
+            request.setTargetAmount(100_000_00);
+            goals.createGoal(user.getId(), request);
+        }
+
+        // Entries in bulk; going through the service would be one commit each
+        JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+        List<Long> goalIds = jdbc.queryForList(
+                "select id from savings_goal where user_id = ?", Long.class, user.getId());
+        List<Object[]> entries = new ArrayList<>();
+        for (Long goalId : goalIds) {
+            for (int e = 0; e < ENTRIES_PER_GOAL; e++) {
+                entries.add(new Object[]{500_00, Date.valueOf(LocalDate.now().minusDays(e)), "Entry " + e, goalId});
+            }
+        }
+        new TransactionTemplate(ctx.getBean(PlatformTransactionManager.class)).executeWithoutResult(s ->
+                jdbc.batchUpdate("insert into savings_entry (amount_minor, date, note, goal_id) values (?, ?, ?, ?)", entries));
+    }
+
+    private static void insertExpenses(ConfigurableApplicationContext ctx, long userId, int count) {
+        JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+        TransactionTemplate tx = new TransactionTemplate(ctx.getBean(PlatformTransactionManager.class));
+
+        Random random = new Random(42);
+        LocalDate first = currentMonth().minusMonths(MONTHS - 1).atDay(1);
+        int days = (int) (LocalDate.now().toEpochDay() - first.toEpochDay()) + 1;
+
+        CategoryDictionary dictionary = ctx.getBean(CategoryDictionary.class);
+        Map<String, Long> categoryIds = new HashMap<>();
+        tx.executeWithoutResult(s -> {
+            for (String name : CATEGORIES) {
+                categoryIds.put(name, dictionary.idFor(userId, name));
+            }
+            categoryIds.put("Salary", dictionary.idFor(userId, "Salary"));
+        });
+
+        for (int done = 0; done < count; done += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+
+            for (int i = done; i < Math.min(count, done + INSERT_BATCH); i++) {
+                boolean income = random.nextInt(10) == 0;
+                rows.add(new Object[]{
+                        "Expense " + i,
+                        100 + random.nextInt(2_000_00),   // minor units
+                        categoryIds.get(income ? "Salary" : CATEGORIES[random.nextInt(CATEGORIES.length - 1)]),
+                        income ? "INCOME" : "EXPENSE",
+                        Date.valueOf(first.plusDays(random.nextInt(days))),
+                        userId
+                });
+            }
+
+            tx.executeWithoutResult(s -> jdbc.batchUpdate(
+                    "insert into expenses (title, amount_minor, category_id, type, date, user_id) values (?, ?, ?, ?, ?, ?)",
+                    rows));
+        }
+    }
+}
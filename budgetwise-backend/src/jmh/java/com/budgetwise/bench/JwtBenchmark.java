@@ -0,0 +1,100 @@
+package com.budgetwise.bench;
+
+import com.budgetwise.model.User;
+import com.budgetwise.security.JwtAuthFilter;
+import com.budgetwise.security.JwtUtil;
+import com.budgetwise.security.TokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling and the per-request authentication filter.
+ *
+ * The filter runs twice: with the application's verified-token cache (the
+ * steady state) and with a cache whose entries expire immediately, which
+ * is the cost of a first request with a new token (parse + signature check).
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="JwtBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private ConfigurableApplicationContext ctx;
+    private JwtUtil jwtUtil;
+    private JwtAuthFilter cachedFilter;
+    private JwtAuthFilter uncachedFilter;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ctx = BenchmarkDataset.start(1000);
+        jwtUtil = ctx.getBean(JwtUtil.class);
+        cachedFilter = ctx.getBean(JwtAuthFilter.class);
+        uncachedFilter = new JwtAuthFilter(
+                jwtUtil,
+                new TokenCache(10_000, 0, new SimpleMeterRegistry())
+        );
+        user = BenchmarkDataset.user(ctx);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Object filterCachedToken() throws ServletException, IOException {
+        return filter(cachedFilter);
+    }
+
+    @Benchmark
+    public Object filterUncachedToken() throws ServletException, IOException {
+        return filter(uncachedFilter);
+    }
+
+    private Object filter(JwtAuthFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
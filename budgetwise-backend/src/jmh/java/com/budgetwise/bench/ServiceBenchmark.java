@@ -0,0 +1,131 @@
+package com.budgetwise.bench;
+
+import com.budgetwise.dto.BudgetResponse;
+import com.budgetwise.dto.ExpenseFilter;
+import com.budgetwise.dto.ExpensePage;
+import com.budgetwise.dto.SavingsGoalResponse;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.BudgetService;
+import com.budgetwise.service.BudgetSummaryCache;
+import com.budgetwise.service.ExpenseService;
+import com.budgetwise.service.SavingsGoalService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths behind the dashboard, at several history sizes.
+ *
+ * The budget summary is measured twice: served from BudgetSummaryCache, and
+ * recomputed from the tables with the cached month dropped before each call.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ServiceBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int expenses;
+
+    private ConfigurableApplicationContext ctx;
+    private BudgetService budgetService;
+    private BudgetSummaryCache summaryCache;
+    private ExpenseService expenseService;
+    private SavingsGoalService savingsGoalService;
+
+    private Long userId;
+    private String month;
+    private ExpenseFilter firstPage;
+    private ExpenseFilter filteredPage;
+    private ExpenseFilter deepPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ctx = BenchmarkDataset.start(expenses);
+        budgetService = ctx.getBean(BudgetService.class);
+        summaryCache = ctx.getBean(BudgetSummaryCache.class);
+        expenseService = ctx.getBean(ExpenseService.class);
+        savingsGoalService = ctx.getBean(SavingsGoalService.class);
+
+        userId = BenchmarkDataset.user(ctx).getId();
+        month = BenchmarkDataset.currentMonth().toString();
+
+        firstPage = new ExpenseFilter();
+
+        filteredPage = new ExpenseFilter();
+        filteredPage.setType(TransactionType.EXPENSE);
+        filteredPage.setCategory("Food");
+        filteredPage.setFrom(BenchmarkDataset.currentMonth().minusMonths(6).atDay(1));
+
+        // Walk ten pages in so the cursor points into the middle of the history
+        ExpenseFilter walk = new ExpenseFilter();
+        for (int i = 0; i < 10; i++) {
+            String next = expenseService.getExpenses(userId, walk).getNextCursor();
+            if (next == null) {
+                break;
+            }
+            walk.setCursor(next);
+        }
+        deepPage = walk;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    /**
+     * Drops the benchmarked month before every call. Kept in its own state so
+     * the per-invocation setup only runs for getBudgetSummaryComputed.
+     */
+    @State(Scope.Thread)
+    public static class ColdSummary {
+
+        @Setup(Level.Invocation)
+        public void evict(ServiceBenchmark bench) {
+            bench.summaryCache.invalidateMonth(bench.userId, bench.month);
+        }
+    }
+
+    @Benchmark
+    public BudgetResponse getBudgetSummaryCached() {
+        return budgetService.getBudgetSummary(userId, month);
+    }
+
+    @Benchmark
+    public BudgetResponse getBudgetSummaryComputed(ColdSummary cold) {
+        return budgetService.getBudgetSummary(userId, month);
+    }
+
+    @Benchmark
+    public ExpensePage getExpensesFirstPage() {
+        return expenseService.getExpenses(userId, firstPage);
+    }
+
+    @Benchmark
+    public ExpensePage getExpensesFiltered() {
+        return expenseService.getExpenses(userId, filteredPage);
+    }
+
+    @Benchmark
+    public ExpensePage getExpensesDeepPage() {
+        return expenseService.getExpenses(userId, deepPage);
+    }
+
+    @Benchmark
+    public List<SavingsGoalResponse> getGoals() {
+        return savingsGoalService.getGoals(userId, null);
+    }
+
+    @Benchmark
+    public List<SavingsGoalResponse> getGoalsWithEntries() {
+        return savingsGoalService.getGoals(userId, 5);
+    }
+}
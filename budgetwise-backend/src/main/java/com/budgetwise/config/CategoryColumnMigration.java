@@ -0,0 +1,89 @@
+package com.budgetwise.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Migration V3: converts the free-text category columns to ids in the
+ * per-user categories dictionary (created by V1), see {@link com.budgetwise.model.Category}.
+ *
+ * Expenses and category budgets are mapped name → id; blank names become
+ * null (uncategorised). Rollup rows are dropped instead and rebuilt from
+ * the converted expenses at startup by RollupCommandRunner.
+ */
+@Slf4j
+class CategoryColumnMigration implements SchemaMigrations.Step {
+
+    @Override
+    public void apply(Connection con) throws SQLException {
+        boolean expenses = needsConversion(con, "expenses");
+        boolean budgets = needsConversion(con, "category_budget");
+        boolean rollups = needsConversion(con, "monthly_category_totals");
+
+        try (Statement st = con.createStatement()) {
+            if (expenses) {
+                st.executeUpdate("""
+                        insert into categories (user_id, name)
+                        select distinct e.user_id, e.category from expenses e
+                        where trim(coalesce(e.category, '')) <> ''
+                          and not exists (select 1 from categories c
+                                          where c.user_id = e.user_id and c.name = e.category)
+                        """);
+                st.execute("alter table expenses add column category_id bigint");
+                int rows = st.executeUpdate("""
+                        update expenses set category_id = (
+                            select c.id from categories c
+                            where c.user_id = expenses.user_id and c.name = expenses.category)
+                        """);
+                st.execute("alter table expenses drop column category");
+                log.info("Converted expenses.category to category ids ({} rows)", rows);
+            }
+
+            if (budgets) {
+                st.executeUpdate("""
+                        insert into categories (user_id, name)
+                        select distinct b.user_id, cb.category
+                        from category_budget cb join budget b on b.id = cb.budget_id
+                        where trim(coalesce(cb.category, '')) <> ''
+                          and not exists (select 1 from categories c
+                                          where c.user_id = b.user_id and c.name = cb.category)
+                        """);
+                st.execute("alter table category_budget add column category_id bigint");
+                int rows = st.executeUpdate("""
+                        update category_budget set category_id = (
+                            select c.id from categories c join budget b on b.user_id = c.user_id
+                            where b.id = category_budget.budget_id and c.name = category_budget.category)
+                        """);
+                st.execute("alter table category_budget drop column category");
+                log.info("Converted category_budget.category to category ids ({} rows)", rows);
+            }
+
+            if (rollups) {
+                // SQLite cannot drop an indexed column; V4 creates the index on category_id
+                st.execute("drop index if exists idx_rollup_user_month_category_type");
+                st.execute("delete from monthly_category_totals");
+                st.execute("alter table monthly_category_totals drop column category");
+                st.execute("alter table monthly_category_totals add column category_id bigint not null default 0");
+                log.info("Cleared monthly_category_totals for rebuild by category id");
+            }
+        }
+    }
+
+    private boolean needsConversion(Connection con, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("pragma table_info(" + table + ")")) {
+            while (rs.next()) {
+                names.add(rs.getString("name"));
+            }
+        }
+        return names.contains("category") && !names.contains("category_id");
+    }
+}
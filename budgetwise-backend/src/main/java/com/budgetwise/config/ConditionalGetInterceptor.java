@@ -0,0 +1,75 @@
+package com.budgetwise.config;
+
+import com.budgetwise.security.AuthenticatedUser;
+import com.budgetwise.security.SecurityUtil;
+import com.budgetwise.service.UserDataVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Strong ETags for the per-user read endpoints, derived from
+ * {@link UserDataVersions} instead of the response body.
+ *
+ * The tag is taken before the handler runs, so a concurrent write can only
+ * make it older than the data, never newer. A matching If-None-Match is
+ * answered with 304 before the controller is called: no queries, no JSON.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private final UserDataVersions versions;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this)
+                .addPathPatterns(
+                        "/api/expenses",
+                        "/api/budget",
+                        "/api/budget/range",
+                        "/api/categories",
+                        "/api/savings-goals",
+                        "/api/savings-goals/*/entries",
+                        "/api/alerts"
+                );
+    }
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        AuthenticatedUser user = SecurityUtil.getCurrentUser();
+        if (user == null) {
+            return true;   // the controller answers 401
+        }
+
+        // Same version, different query (month, cursor, filters) → different tag
+        CRC32 query = new CRC32();
+        query.update((user.id() + " " + request.getRequestURI() + "?" + request.getQueryString())
+                .getBytes(StandardCharsets.UTF_8));
+
+        String etag = "\"" + versions.tag(user.id()) + "." + Long.toHexString(query.getValue()) + "\"";
+
+        // Revalidate every time; the browser cache turns a 304 back into the stored body
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,52 @@
+package com.budgetwise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Database admission control (budgetwise.db.admission.enabled, on in the
+ * virtual profile): every connection pool is fronted by a
+ * {@link PermitLimitedDataSource}.
+ *
+ * The WAL writer is left alone; writes are already admitted through the
+ * bounded {@link GroupCommitWriter} queue.
+ */
+@Configuration
+@ConditionalOnProperty(name = "budgetwise.db.admission.enabled", havingValue = "true")
+public class DbAdmissionConfig {
+
+    private static final String WRITER = "sqliteWriterDataSource";
+
+    @Bean
+    static BeanPostProcessor dbAdmissionPostProcessor(
+            ObjectProvider<MeterRegistry> registry,
+            Environment env
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool) || WRITER.equals(beanName)) {
+                    return bean;
+                }
+
+                // 0 = as many permits as the pool has connections
+                int permits = env.getProperty("budgetwise.db.admission.permits", Integer.class, 0);
+
+                return new PermitLimitedDataSource(
+                        pool,
+                        pool.getPoolName() != null ? pool.getPoolName() : beanName,
+                        permits > 0 ? permits : pool.getMaximumPoolSize(),
+                        env.getProperty("budgetwise.db.admission.max-waiting", Integer.class, 256),
+                        env.getProperty("budgetwise.db.admission.acquire-timeout-ms", Long.class, 2000L),
+                        registry.getObject()
+                );
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.budgetwise.config;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands top-level write transactions in the service layer to the
+ * {@link GroupCommitWriter}. Runs outside the transaction interceptor, so the
+ * service's own @Transactional joins the writer's group transaction.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class GroupCommitAspect {
+
+    private final GroupCommitWriter writer;
+
+    @Around("execution(public * com.budgetwise.service..*(..))"
+            + " && @annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object routeWrite(ProceedingJoinPoint pjp) throws Throwable {
+        Transactional tx = ((MethodSignature) pjp.getSignature())
+                .getMethod()
+                .getAnnotation(Transactional.class);
+
+        // Reads, explicit propagation and nested calls stay on the caller's thread
+        if (tx.readOnly()
+                || tx.propagation() != Propagation.REQUIRED
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return pjp.proceed();
+        }
+
+        return writer.submit(pjp::proceed);
+    }
+}
@@ -0,0 +1,46 @@
+package com.budgetwise.config;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * The {@link GroupCommitAspect} for code that runs its own transactions
+ * (bulk import chunks, the recurring run, auth writes, the reset-token
+ * sweep): a top-level write executed through this template is handed to
+ * the {@link GroupCommitWriter} and joins its group, rather than waiting
+ * for the single writer connection outside it.
+ */
+public class GroupCommitTransactionTemplate extends TransactionTemplate {
+
+    private final GroupCommitWriter writer;
+
+    public GroupCommitTransactionTemplate(PlatformTransactionManager transactionManager, GroupCommitWriter writer) {
+        super(transactionManager);
+        this.writer = writer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+        // Same rule as the aspect: reads, explicit propagation and nested calls run here
+        if (isReadOnly()
+                || getPropagationBehavior() != TransactionDefinition.PROPAGATION_REQUIRED
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return super.execute(action);
+        }
+
+        try {
+            return (T) writer.submit(() -> super.execute(action));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+}
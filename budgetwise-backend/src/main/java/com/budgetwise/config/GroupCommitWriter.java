@@ -0,0 +1,238 @@
+package com.budgetwise.config;
+
+import com.budgetwise.exception.WriterBusyException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs write transactions one after another on a single thread, so the
+ * single writer connection is never contended and SQLITE_BUSY cannot occur.
+ *
+ * Whatever queued up while the previous group was committing is drained and
+ * run as one transaction, each unit inside its own savepoint: a unit that
+ * throws rolls back only its own changes, and the group pays for one commit.
+ * The transaction synchronizations a failed unit registered (cache fills,
+ * version bumps, change events) are dropped with it, so only the units that
+ * succeeded have after-commit effects.
+ *
+ * If a unit leaves the session rollback-only (a Hibernate/JDBC error rather
+ * than a business exception), the group cannot commit: units that already
+ * ran in it fail with that error and units not yet started move to the next
+ * group.
+ */
+@Slf4j
+public class GroupCommitWriter implements DisposableBean {
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws Throwable;
+    }
+
+    private static final class Unit {
+        final Work<?> work;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        Object value;
+
+        Unit(Work<?> work) {
+            this.work = work;
+        }
+    }
+
+    // Thrown inside the group transaction to force a rollback
+    private static final class GroupAborted extends RuntimeException {
+        GroupAborted(Throwable cause) {
+            super("Write group rolled back: " + cause.getMessage(), cause);
+        }
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final BlockingQueue<Unit> queue;
+    private final int maxGroupSize;
+    private final long enqueueTimeoutMs;
+
+    private final DistributionSummary groupSize;
+    private final Timer groupTimer;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public GroupCommitWriter(
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            MeterRegistry registry,
+            int maxGroupSize,
+            int queueCapacity,
+            long enqueueTimeoutMs
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxGroupSize = maxGroupSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+
+        this.groupSize = DistributionSummary.builder("budgetwise.sqlite.writer.group.size")
+                .description("Write transactions committed together")
+                .register(registry);
+        this.groupTimer = Timer.builder("budgetwise.sqlite.writer.group.time")
+                .description("Time to run and commit one write group")
+                .register(registry);
+        Gauge.builder("budgetwise.sqlite.writer.queue", queue, BlockingQueue::size)
+                .description("Write transactions waiting for the writer")
+                .register(registry);
+
+        this.thread = new Thread(this::loop, "sqlite-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Runs the work in the next write group and waits for it to commit.
+     * Throws {@link WriterBusyException} if the queue stays full for the
+     * enqueue timeout or the writer is shutting down.
+     */
+    public Object submit(Work<?> work) throws Throwable {
+        if (Thread.currentThread() == thread) {
+            return work.run();
+        }
+
+        Unit unit = new Unit(work);
+
+        try {
+            if (!running || !queue.offer(unit, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new WriterBusyException(running
+                        ? "Too many writes queued, try again shortly"
+                        : "Writer is shutting down, try again shortly");
+            }
+            return unit.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for write", e);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void loop() {
+        List<Unit> group = new ArrayList<>(maxGroupSize);
+        List<Unit> carried = new ArrayList<>();
+
+        while (running) {
+            try {
+                if (carried.isEmpty()) {
+                    group.add(queue.take());
+                } else {
+                    group.addAll(carried);
+                    carried.clear();
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            queue.drainTo(group, maxGroupSize - group.size());
+
+            groupSize.record(group.size());
+            groupTimer.record(() -> runGroup(group, carried));
+            group.clear();
+        }
+
+        // Shutting down: nobody will run what is left
+        List<Unit> left = new ArrayList<>(carried);
+        queue.drainTo(left);
+        left.forEach(u -> u.result.completeExceptionally(
+                new WriterBusyException("Writer is shutting down, try again shortly")));
+    }
+
+    private void runGroup(List<Unit> group, List<Unit> carried) {
+        List<Unit> done = new ArrayList<>(group.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    runUnits(group, done, carried, status));
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof GroupAborted ? e.getCause() : e;
+            done.forEach(u -> u.result.completeExceptionally(cause));
+            log.warn("Write group of {} rolled back", group.size(), e);
+            return;
+        }
+
+        // Only now is the work durable
+        done.forEach(u -> u.result.complete(u.value));
+    }
+
+    private void runUnits(List<Unit> group, List<Unit> done, List<Unit> carried, TransactionStatus status) {
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        Session session = em.unwrap(Session.class);
+
+        for (int i = 0; i < group.size(); i++) {
+            Unit unit = group.get(i);
+            Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+            List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+
+            try {
+                unit.value = unit.work.run();
+                em.flush();
+                session.doWork(c -> c.releaseSavepoint(savepoint));
+                done.add(unit);
+            } catch (Throwable t) {
+                session.doWork(c -> c.rollback(savepoint));
+                em.clear();
+                discardSynchronizationsSince(registered);
+                unit.result.completeExceptionally(t);
+
+                if (status.isRollbackOnly()) {
+                    carried.addAll(group.subList(i + 1, group.size()));
+                    throw new GroupAborted(t);
+                }
+            }
+        }
+    }
+
+    // Keeps the earlier units' hooks; the failed unit's ones see a rollback instead of the commit
+    private static void discardSynchronizationsSince(List<TransactionSynchronization> kept) {
+        List<TransactionSynchronization> all = TransactionSynchronizationManager.getSynchronizations();
+
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        kept.forEach(TransactionSynchronizationManager::registerSynchronization);
+
+        for (TransactionSynchronization s : all) {
+            if (!kept.contains(s)) {
+                try {
+                    s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+                } catch (RuntimeException e) {
+                    log.warn("Synchronization of a rolled-back write unit failed", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
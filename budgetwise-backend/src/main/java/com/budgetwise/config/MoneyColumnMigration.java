@@ -0,0 +1,68 @@
+package com.budgetwise.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Migration V2: converts the REAL amount columns to INTEGER minor units
+ * (amount → amount_minor = round(amount * 100)), see {@link com.budgetwise.model.Money}.
+ *
+ * Tables that are already converted (or were created by V1) are skipped.
+ */
+@Slf4j
+class MoneyColumnMigration implements SchemaMigrations.Step {
+
+    private record Column(String table, String from, String to) {
+    }
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("expenses", "amount", "amount_minor"),
+            new Column("savings_entry", "amount", "amount_minor"),
+            new Column("savings_goal", "target_amount", "target_amount_minor"),
+            new Column("budget", "total_budget", "total_budget_minor"),
+            new Column("category_budget", "amount", "amount_minor"),
+            new Column("monthly_category_totals", "total", "total_minor")
+    );
+
+    @Override
+    public void apply(Connection con) throws SQLException {
+        for (Column c : COLUMNS) {
+            Set<String> columns = columns(con, c.table());
+
+            if (columns.contains(c.from()) && !columns.contains(c.to())) {
+                migrate(con, c);
+            }
+        }
+    }
+
+    private void migrate(Connection con, Column c) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.execute("alter table " + c.table() + " add column " + c.to()
+                    + " integer not null default 0");
+            int rows = st.executeUpdate("update " + c.table() + " set " + c.to()
+                    + " = cast(round(coalesce(" + c.from() + ", 0) * 100) as integer)");
+            st.execute("alter table " + c.table() + " drop column " + c.from());
+
+            log.info("Converted {}.{} to minor units in {} ({} rows)", c.table(), c.from(), c.to(), rows);
+        }
+    }
+
+    private Set<String> columns(Connection con, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("pragma table_info(" + table + ")")) {
+            while (rs.next()) {
+                names.add(rs.getString("name"));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,145 @@
+package com.budgetwise.config;
+
+import com.budgetwise.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control in front of a connection pool: at most {@code permits}
+ * connections out at once, handed out FIFO, with a cap on how many callers
+ * may queue for one.
+ *
+ * With virtual threads there is no worker pool to bound concurrency, and the
+ * SQLite driver pins its carrier thread for every call. Callers beyond the
+ * cap fail at once with {@link DatabaseBusyException} (503) instead of
+ * piling up behind the pool's 30 s connection timeout.
+ */
+public class PermitLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public PermitLimitedDataSource(
+            DataSource target,
+            String pool,
+            int permits,
+            int maxWaiting,
+            long acquireTimeoutMs,
+            MeterRegistry registry
+    ) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+
+        this.waitTimer = Timer.builder("budgetwise.db.permits.wait")
+                .description("Time spent waiting for a database permit")
+                .tag("pool", pool)
+                .register(registry);
+        this.rejected = Counter.builder("budgetwise.db.permits.rejected")
+                .description("Connection requests turned away with 503")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("budgetwise.db.permits.waiting", waiting, AtomicInteger::get)
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("budgetwise.db.permits.available", this.permits, Semaphore::availablePermits)
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new DatabaseBusyException("Too many requests waiting for the database");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new DatabaseBusyException("Timed out waiting for the database");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted waiting for the database");
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    // The permit goes back exactly once, when the caller closes the connection
+    private Connection guarded(ConnectionSupplier open) throws SQLException {
+        Connection target;
+        try {
+            target = open.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+}
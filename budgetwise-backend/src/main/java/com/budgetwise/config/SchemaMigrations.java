@@ -0,0 +1,179 @@
+package com.budgetwise.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned schema migrations, applied at startup before JPA starts;
+ * Hibernate no longer touches the schema (ddl-auto=none).
+ *
+ * Each pending migration runs once, in version order, in its own
+ * transaction, and is recorded in schema_version. SQL migrations
+ * (db/migration/V{n}__{name}.sql) are checksummed: if a shipped script
+ * changes, startup fails. Add a new version instead of editing one.
+ */
+@Slf4j
+@Configuration
+public class SchemaMigrations implements InitializingBean {
+
+    // A data conversion that needs more than plain SQL
+    interface Step {
+        void apply(Connection con) throws SQLException;
+    }
+
+    private record Migration(int version, String name, String sql, Step step) {
+
+        // Java steps carry no checksum
+        Long checksum() {
+            if (sql == null) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(sql.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            sql(1, "baseline"),
+            java(2, "money_minor_units", new MoneyColumnMigration()),
+            java(3, "category_ids", new CategoryColumnMigration()),
+            sql(4, "hot_path_indexes"),
+            sql(5, "recurring_rules"),
+            sql(6, "budget_alerts"),
+            sql(7, "unique_category_names"),
+            sql(8, "recurring_rule_version")
+    );
+
+    private static final String HISTORY = """
+            create table if not exists schema_version (
+                version integer not null primary key,
+                name varchar(255) not null,
+                checksum bigint,
+                installed_at bigint not null,
+                execution_ms bigint not null
+            )
+            """;
+
+    private final DataSource dataSource;
+
+    public SchemaMigrations(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor schemaMigrationsFirst() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SchemaMigrations.class);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection con = dataSource.getConnection()) {
+            try (Statement st = con.createStatement()) {
+                st.execute(HISTORY);
+            }
+
+            Map<Integer, Long> applied = applied(con);
+            int latest = MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+
+            for (int version : applied.keySet()) {
+                if (version > latest) {
+                    throw new IllegalStateException("Database schema is at V" + version
+                            + ", newer than this build (V" + latest + ")");
+                }
+            }
+
+            for (Migration m : MIGRATIONS) {
+                if (!applied.containsKey(m.version())) {
+                    apply(con, m);
+                } else if (!Objects.equals(applied.get(m.version()), m.checksum())) {
+                    throw new IllegalStateException("Migration V" + m.version() + "__" + m.name()
+                            + " was changed after it was applied");
+                }
+            }
+        }
+    }
+
+    private void apply(Connection con, Migration m) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        long start = System.currentTimeMillis();
+
+        try {
+            if (m.sql() != null) {
+                ScriptUtils.executeSqlScript(con, new ByteArrayResource(m.sql().getBytes(StandardCharsets.UTF_8)));
+            } else {
+                m.step().apply(con);
+            }
+
+            long elapsed = System.currentTimeMillis() - start;
+            try (PreparedStatement ps = con.prepareStatement(
+                    "insert into schema_version (version, name, checksum, installed_at, execution_ms) values (?, ?, ?, ?, ?)")) {
+                ps.setInt(1, m.version());
+                ps.setString(2, m.name());
+                ps.setObject(3, m.checksum());
+                ps.setLong(4, System.currentTimeMillis());
+                ps.setLong(5, elapsed);
+                ps.executeUpdate();
+            }
+
+            con.commit();
+            log.info("Applied migration V{}__{} in {} ms", m.version(), m.name(), elapsed);
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    private Map<Integer, Long> applied(Connection con) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("select version, checksum from schema_version")) {
+            while (rs.next()) {
+                int version = rs.getInt(1);
+                long checksum = rs.getLong(2);
+                applied.put(version, rs.wasNull() ? null : checksum);
+            }
+        }
+        return applied;
+    }
+
+    private static Migration sql(int version, String name) {
+        String path = "db/migration/V" + version + "__" + name + ".sql";
+
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new Migration(version, name, new String(in.readAllBytes(), StandardCharsets.UTF_8), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Missing migration " + path, e);
+        }
+    }
+
+    private static Migration java(int version, String name, Step step) {
+        return new Migration(version, name, null, step);
+    }
+}
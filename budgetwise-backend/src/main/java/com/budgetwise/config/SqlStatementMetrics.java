@@ -0,0 +1,82 @@
+package com.budgetwise.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a request is served and
+ * records them per endpoint (budgetwise.http.sql.statements), so N+1 paths
+ * show up as a rising count rather than just a slower timer.
+ *
+ * Runs ahead of the security chain so the JWT user lookup is included.
+ * Statements run on other threads (the WAL-mode writer, streamed exports)
+ * and plain JdbcTemplate calls are not attributed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementMetrics extends OncePerRequestFilter
+        implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    public SqlStatementMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = STATEMENTS.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        int[] count = new int[1];
+        STATEMENTS.set(count);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            STATEMENTS.remove();
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+            DistributionSummary.builder("budgetwise.http.sql.statements")
+                    .description("SQL statements issued per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .register(registry)
+                    .record(count[0]);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.budgetwise.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.transaction.autoconfigure.TransactionManagerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * SQLite production mode (budgetwise.sqlite.mode=wal, on in the prod profile).
+ *
+ * - WAL journal, so readers never block behind the writer
+ * - one writer connection; write transactions are funnelled through
+ *   {@link GroupCommitWriter} instead of racing for the file lock
+ * - a pool of read-only connections that serves readOnly transactions
+ *
+ * Routing is done by {@link LazyConnectionDataSourceProxy}: the physical
+ * connection is only fetched once the transaction's read-only flag is known.
+ * Services that run their own transactions take the TransactionTemplate
+ * bean, which queues their writes on the same writer.
+ */
+@Configuration
+@ConditionalOnProperty(name = "budgetwise.sqlite.mode", havingValue = "wal")
+public class SqliteDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${budgetwise.sqlite.reader-pool-size:4}")
+    private int readerPoolSize;
+
+    @Value("${budgetwise.sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${budgetwise.sqlite.cache-size-kb:16384}")
+    private int cacheSizeKb;
+
+    @Value("${budgetwise.sqlite.mmap-size:268435456}")
+    private long mmapSize;
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource sqliteWriterDataSource() {
+        SQLiteConfig sqlite = baseConfig();
+        sqlite.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        // In WAL mode NORMAL only syncs at checkpoints; a crash can lose the
+        // last commits but never corrupts the database
+        sqlite.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("sqlite-writer");
+        hikari.setDataSource(dataSource(sqlite));
+        hikari.setMaximumPoolSize(1);
+        hikari.setMinimumIdle(1);
+
+        return new HikariDataSource(hikari);
+    }
+
+    // Takes the writer so the file exists and is in WAL mode before readers open it
+    @Bean(defaultCandidate = false)
+    public HikariDataSource sqliteReaderDataSource(
+            @Qualifier("sqliteWriterDataSource") HikariDataSource writer
+    ) {
+        SQLiteConfig sqlite = baseConfig();
+        sqlite.setReadOnly(true);
+
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("sqlite-reader");
+        hikari.setDataSource(dataSource(sqlite));
+        hikari.setMaximumPoolSize(readerPoolSize);
+        hikari.setReadOnly(true);
+
+        return new HikariDataSource(hikari);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("sqliteWriterDataSource") HikariDataSource writer,
+            @Qualifier("sqliteReaderDataSource") DataSource reader   // may be permit-limited, see DbAdmissionConfig
+    ) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(writer);
+        proxy.setReadOnlyDataSource(reader);
+        return proxy;
+    }
+
+    // Grouped units fail individually (savepoints), so a participating
+    // transaction must not doom the whole group; the writer decides
+    @Bean
+    public TransactionManagerCustomizer<AbstractPlatformTransactionManager> groupCommitTransactionCustomizer() {
+        return tm -> tm.setGlobalRollbackOnParticipationFailure(false);
+    }
+
+    @Bean
+    public GroupCommitWriter groupCommitWriter(
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            MeterRegistry registry,
+            @Value("${budgetwise.sqlite.writer.max-group-size:64}") int maxGroupSize,
+            @Value("${budgetwise.sqlite.writer.queue-capacity:1000}") int queueCapacity,
+            @Value("${budgetwise.sqlite.writer.enqueue-timeout-ms:5000}") long enqueueTimeoutMs
+    ) {
+        return new GroupCommitWriter(
+                transactionManager,
+                entityManagerFactory,
+                registry,
+                maxGroupSize,
+                queueCapacity,
+                enqueueTimeoutMs
+        );
+    }
+
+    // Replaces Boot's default template, so services that run their own
+    // transactions queue on the writer like @Transactional methods do
+    @Bean
+    public TransactionTemplate transactionTemplate(
+            PlatformTransactionManager transactionManager,
+            GroupCommitWriter groupCommitWriter
+    ) {
+        return new GroupCommitTransactionTemplate(transactionManager, groupCommitWriter);
+    }
+
+    @Bean
+    public GroupCommitAspect groupCommitAspect(GroupCommitWriter groupCommitWriter) {
+        return new GroupCommitAspect(groupCommitWriter);
+    }
+
+    private SQLiteConfig baseConfig() {
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setBusyTimeout(busyTimeoutMs);
+        sqlite.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        sqlite.setCacheSize(-cacheSizeKb);   // negative = KiB rather than pages
+        sqlite.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(mmapSize));
+        return sqlite;
+    }
+
+    private SQLiteDataSource dataSource(SQLiteConfig sqlite) {
+        SQLiteDataSource ds = new SQLiteDataSource(sqlite);
+        ds.setUrl(url);
+        return ds;
+    }
+}
@@ -0,0 +1,30 @@
+package com.budgetwise.controller;
+
+import com.budgetwise.dto.BudgetAlertResponse;
+import com.budgetwise.security.SecurityUtil;
+import com.budgetwise.service.BudgetAlertService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private final BudgetAlertService service;
+
+    // Newest first; revalidate with If-None-Match when polling
+    @GetMapping
+    public List<BudgetAlertResponse> unread() {
+        return service.getUnread(SecurityUtil.getCurrentUserId());
+    }
+
+    // ?upTo=<id of the newest alert shown>; without it every unread alert is marked
+    @PostMapping("/read")
+    public Map<String, Integer> markRead(@RequestParam(required = false) Long upTo) {
+        return Map.of("marked", service.markRead(SecurityUtil.getCurrentUserId(), upTo));
+    }
+}
@@ -4,7 +4,7 @@ import com.budgetwise.dto.*;
 import com.budgetwise.service.BudgetService;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.budgetwise.security.SecurityUtil;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,25 +14,27 @@ public class BudgetController {
 
     private final BudgetService budgetService;
 
-    private String getEmail() {
-        return SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getName();
-    }
-
     @PostMapping
     public void saveBudget(@RequestBody BudgetRequest request) {
-        budgetService.saveBudget(getEmail(), request);
+        budgetService.saveBudget(SecurityUtil.getCurrentUserId(), request);
     }
 
     @GetMapping
     public BudgetResponse getBudget(@RequestParam String month) {
-        return budgetService.getBudgetSummary(getEmail(), month);
+        return budgetService.getBudgetSummary(SecurityUtil.getCurrentUserId(), month);
+    }
+
+    // e.g. ?from=2025-01&to=2025-12 for a year-to-date view
+    @GetMapping("/range")
+    public BudgetRangeResponse getBudgetRange(
+            @RequestParam String from,
+            @RequestParam String to
+    ) {
+        return budgetService.getBudgetRange(SecurityUtil.getCurrentUserId(), from, to);
     }
 
     @DeleteMapping
     public void deleteBudget(@RequestParam String month) {
-        budgetService.deleteBudget(getEmail(), month);
+        budgetService.deleteBudget(SecurityUtil.getCurrentUserId(), month);
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.budgetwise.controller;
+
+import com.budgetwise.dto.CategoryRequest;
+import com.budgetwise.dto.CategoryResponse;
+import com.budgetwise.security.SecurityUtil;
+import com.budgetwise.service.CategoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/categories")
+@RequiredArgsConstructor
+public class CategoryController {
+
+    private final CategoryService service;
+
+    @GetMapping
+    public List<CategoryResponse> getAll() {
+        return service.getCategories(SecurityUtil.getCurrentUserId());
+    }
+
+    @PutMapping("/{id}")
+    public CategoryResponse rename(
+            @PathVariable Long id,
+            @RequestBody CategoryRequest request
+    ) {
+        return service.rename(SecurityUtil.getCurrentUserId(), id, request.getName());
+    }
+}
@@ -0,0 +1,25 @@
+package com.budgetwise.controller;
+
+import com.budgetwise.security.SecurityUtil;
+import com.budgetwise.service.ChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+
+    // Server-sent events: "ready" once, then "change" per commit, "resync" when
+    // the client fell behind and has to refetch
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return changeFeed.subscribe(SecurityUtil.getCurrentUserId());
+    }
+}
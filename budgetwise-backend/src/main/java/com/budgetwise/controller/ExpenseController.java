@@ -1,14 +1,31 @@
 package com.budgetwise.controller;
 
+import com.budgetwise.dto.ExpenseBatchRequest;
+import com.budgetwise.dto.ExpenseBatchResult;
+import com.budgetwise.dto.ExpenseFilter;
+import com.budgetwise.dto.ExpensePage;
 import com.budgetwise.dto.ExpenseResponse;
+import com.budgetwise.dto.ImportResult;
 import com.budgetwise.model.Expense;
-import com.budgetwise.security.JwtUtil;
+import com.budgetwise.security.SecurityUtil;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.ExpenseBatchService;
+import com.budgetwise.service.ExpenseExportService;
+import com.budgetwise.service.ExpenseImportService;
 import com.budgetwise.service.ExpenseService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,61 +33,105 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ExpenseController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ExpenseService expenseService;
-    private final JwtUtil jwtUtil;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseBatchService expenseBatchService;
 
     // ✅ ADD expense (JWT protected by Spring Security)
     @PostMapping
-    public Expense addExpense(
-            @RequestBody Expense expense,
-            @RequestHeader("Authorization") String authHeader
-    ) {
-        String email = extractEmail(authHeader);
-        return expenseService.addExpense(expense, email);
+    public Expense addExpense(@RequestBody Expense expense) {
+        return expenseService.addExpense(expense, SecurityUtil.getCurrentUserId());
+    }
+
+    // ✅ BULK IMPORT — body is streamed, never buffered whole
+    // text/csv (header: title,amount,category,type,date) or JSON array / NDJSON
+    @PostMapping(
+            value = "/import",
+            consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public ImportResult importExpenses(HttpServletRequest request) throws IOException {
+        Long userId = SecurityUtil.getCurrentUserId();
+
+        if (request.getContentType().startsWith("text/csv")) {
+            return expenseImportService.importCsv(userId, request.getInputStream());
+        }
+        return expenseImportService.importJson(userId, request.getInputStream());
+    }
+
+    // ✅ BATCH create / update / delete — one transaction, one result per operation
+    @PostMapping("/batch")
+    public ExpenseBatchResult batchExpenses(@RequestBody ExpenseBatchRequest request) {
+        return expenseBatchService.apply(SecurityUtil.getCurrentUserId(), request);
     }
 
     // ✅ GET expenses (Soft JWT – manual validation)
+    // Keyset paged: body stays a plain array, the next page token goes in X-Next-Cursor
     @GetMapping
-    public List<ExpenseResponse> getExpenses(
-            @RequestHeader(value = "Authorization", required = false) String authHeader
+    public ResponseEntity<List<ExpenseResponse>> getExpenses(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            ExpenseFilter filter
+    ) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token required");
+        }
+
+        ExpensePage page = expenseService.getExpenses(SecurityUtil.getCurrentUserId(), filter);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    // ✅ EXPORT — rows streamed from a DB cursor, format=csv|ndjson
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type
     ) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token required");
         }
 
-        String email = extractEmail(authHeader);
-        return expenseService.getExpenses(email);
+        ExpenseExportService.Format exportFormat = ExpenseExportService.Format.of(format);
+        Long userId = SecurityUtil.getCurrentUserId();
+
+        boolean csv = exportFormat == ExpenseExportService.Format.CSV;
+
+        StreamingResponseBody body = out ->
+                expenseExportService.export(userId, exportFormat, from, to, type, out);
+
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.APPLICATION_NDJSON)
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"budgetwise-transactions." + (csv ? "csv" : "ndjson") + "\""
+                )
+                .body(body);
     }
 
     // ✅ UPDATE expense (JWT protected)
     @PutMapping("/{id}")
     public Expense updateExpense(
             @PathVariable Long id,
-            @RequestBody Expense expense,
-            @RequestHeader("Authorization") String authHeader
+            @RequestBody Expense expense
     ) {
-        String email = extractEmail(authHeader);
-        return expenseService.updateExpense(id, expense, email);
+        return expenseService.updateExpense(id, expense, SecurityUtil.getCurrentUserId());
     }
 
     // ✅ DELETE expense (JWT protected)
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteExpense(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader
-    ) {
-        String email = extractEmail(authHeader);
-        expenseService.deleteExpense(id, email);
-    }
-
-    // 🔑 Helper
-    private String extractEmail(String authHeader) {
-        if (!authHeader.startsWith("Bearer ")) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
-        }
-
-        String token = authHeader.substring(7);
-        return jwtUtil.extractUsername(token);
+    public void deleteExpense(@PathVariable Long id) {
+        expenseService.deleteExpense(id, SecurityUtil.getCurrentUserId());
     }
 }
@@ -0,0 +1,26 @@
+package com.budgetwise.controller;
+
+import com.budgetwise.dto.InsightsResponse;
+import com.budgetwise.security.SecurityUtil;
+import com.budgetwise.service.InsightsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/insights")
+@RequiredArgsConstructor
+public class InsightsController {
+
+    private final InsightsService insightsService;
+
+    // Aggregated monthly + category series, window defaults to the last 12 months
+    @GetMapping
+    public InsightsResponse getInsights(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        return insightsService.getInsights(
+                SecurityUtil.getCurrentUserId(), from, to
+        );
+    }
+}
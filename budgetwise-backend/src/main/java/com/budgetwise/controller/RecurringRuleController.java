@@ -0,0 +1,41 @@
+package com.budgetwise.controller;
+
+import com.budgetwise.dto.RecurringRuleRequest;
+import com.budgetwise.dto.RecurringRuleResponse;
+import com.budgetwise.security.SecurityUtil;
+import com.budgetwise.service.RecurringRuleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring")
+@RequiredArgsConstructor
+public class RecurringRuleController {
+
+    private final RecurringRuleService service;
+
+    @GetMapping
+    public List<RecurringRuleResponse> list() {
+        return service.getRules(SecurityUtil.getCurrentUserId());
+    }
+
+    @PostMapping
+    public RecurringRuleResponse create(@RequestBody RecurringRuleRequest request) {
+        return service.createRule(SecurityUtil.getCurrentUserId(), request);
+    }
+
+    @PutMapping("/{id}")
+    public RecurringRuleResponse update(
+            @PathVariable Long id,
+            @RequestBody RecurringRuleRequest request
+    ) {
+        return service.updateRule(SecurityUtil.getCurrentUserId(), id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    public void delete(@PathVariable Long id) {
+        service.deleteRule(SecurityUtil.getCurrentUserId(), id);
+    }
+}
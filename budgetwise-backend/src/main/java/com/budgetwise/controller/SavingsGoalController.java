@@ -4,6 +4,7 @@ import com.budgetwise.dto.*;
 import com.budgetwise.security.SecurityUtil;
 import com.budgetwise.service.SavingsGoalService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -17,7 +18,7 @@ public class SavingsGoalController {
 
     @PostMapping
     public void create(@RequestBody SavingsGoalRequest request) {
-        service.createGoal(SecurityUtil.getCurrentUserEmail(), request);
+        service.createGoal(SecurityUtil.getCurrentUserId(), request);
     }
 
     @PutMapping("/{id}")
@@ -25,12 +26,12 @@ public class SavingsGoalController {
             @PathVariable Long id,
             @RequestBody SavingsGoalRequest request
     ) {
-        service.updateGoal(SecurityUtil.getCurrentUserEmail(), id, request);
+        service.updateGoal(SecurityUtil.getCurrentUserId(), id, request);
     }
 
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
-        service.deleteGoal(SecurityUtil.getCurrentUserEmail(), id);
+        service.deleteGoal(SecurityUtil.getCurrentUserId(), id);
     }
 
     @PostMapping("/{id}/entries")
@@ -38,16 +39,36 @@ public class SavingsGoalController {
             @PathVariable Long id,
             @RequestBody SavingsEntryRequest request
     ) {
-        service.addEntry(SecurityUtil.getCurrentUserEmail(), id, request);
+        service.addEntry(SecurityUtil.getCurrentUserId(), id, request);
     }
 
     @DeleteMapping("/entries/{entryId}")
     public void deleteEntry(@PathVariable Long entryId) {
-        service.deleteEntry(SecurityUtil.getCurrentUserEmail(), entryId);
+        service.deleteEntry(SecurityUtil.getCurrentUserId(), entryId);
     }
 
+    // entries=N embeds the newest N entries per goal; omitted = totals only
     @GetMapping
-    public List<SavingsGoalResponse> list() {
-        return service.getGoals(SecurityUtil.getCurrentUserEmail());
+    public List<SavingsGoalResponse> list(
+            @RequestParam(required = false) Integer entries
+    ) {
+        return service.getGoals(SecurityUtil.getCurrentUserId(), entries);
+    }
+
+    // Keyset paged like /api/expenses: plain array body, next token in X-Next-Cursor
+    @GetMapping("/{id}/entries")
+    public ResponseEntity<List<SavingsGoalResponse.Entry>> entries(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        SavingsEntryPage page =
+                service.getEntries(SecurityUtil.getCurrentUserId(), id, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(ExpenseController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 }
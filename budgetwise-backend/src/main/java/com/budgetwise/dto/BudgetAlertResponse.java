@@ -0,0 +1,22 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.Money;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class BudgetAlertResponse {
+
+    private Long id;
+    private String month;
+    private String category;   // null for the overall budget
+    private int threshold;     // percent
+    @Money.Json
+    private long spent;
+    @Money.Json
+    private long budget;
+    private LocalDateTime createdAt;
+}
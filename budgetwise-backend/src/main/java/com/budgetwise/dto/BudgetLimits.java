@@ -0,0 +1,9 @@
+package com.budgetwise.dto;
+
+// Budget in effect for a month (own or carried forward) and one of its category budgets
+public interface BudgetLimits {
+    Long getTotalBudget();            // minor units
+    String getAlertThresholds();
+    Long getCategoryBudget();         // null when the category has no budget
+    String getCategoryAlertThresholds();
+}
@@ -0,0 +1,20 @@
+package com.budgetwise.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BudgetRangeResponse {
+
+    private String from;
+    private String to;
+
+    // One summary per month, oldest first
+    private List<BudgetResponse> months;
+
+    // Budget / spent summed over the whole range (year-to-date for from=YYYY-01)
+    private BudgetResponse.Overall total;
+}
@@ -1,11 +1,14 @@
 package com.budgetwise.dto;
 
+import com.budgetwise.model.Money;
 import lombok.Data;
 import java.util.List;
 
 @Data
 public class BudgetRequest {
     private String month;               // YYYY-MM
-    private Double totalBudget;
+    @Money.Json
+    private long totalBudget;
     private List<CategoryBudgetDTO> categories;
+    private List<Integer> alertThresholds;   // percentages; omitted = server defaults
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.budgetwise.dto;
 
+import com.budgetwise.model.Money;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -18,18 +20,23 @@ public class BudgetResponse {
     @Data
     @Builder
     public static class Overall {
-        private Double budget;
-        private Double spent;
-        private Double remaining;
-        private Double percentage;
+        @Money.Json
+        private long budget;
+        @Money.Json
+        private long spent;
+        @Money.Json
+        private long remaining;
+        private BigDecimal percentage;
     }
 
     @Data
     @Builder
     public static class Category {
         private String category;
-        private Double budget;
-        private Double spent;
-        private Double percentage;
+        @Money.Json
+        private long budget;
+        @Money.Json
+        private long spent;
+        private BigDecimal percentage;
     }
 }
\ No newline at end of file
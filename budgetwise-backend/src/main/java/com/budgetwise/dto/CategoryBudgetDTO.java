@@ -1,9 +1,14 @@
 package com.budgetwise.dto;
 
+import com.budgetwise.model.Money;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class CategoryBudgetDTO {
     private String category;
-    private Double amount;
+    @Money.Json
+    private long amount;
+    private List<Integer> alertThresholds;   // percentages; omitted = server defaults
 }
\ No newline at end of file
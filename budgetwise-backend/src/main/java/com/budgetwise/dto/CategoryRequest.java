@@ -0,0 +1,8 @@
+package com.budgetwise.dto;
+
+import lombok.Data;
+
+@Data
+public class CategoryRequest {
+    private String name;
+}
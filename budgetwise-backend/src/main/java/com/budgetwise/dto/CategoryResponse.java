@@ -0,0 +1,11 @@
+package com.budgetwise.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CategoryResponse {
+    private Long id;
+    private String name;
+}
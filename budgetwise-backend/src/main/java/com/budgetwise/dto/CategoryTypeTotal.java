@@ -0,0 +1,11 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.TransactionType;
+
+// Projection for per-category / per-type sums computed in the database
+public interface CategoryTypeTotal {
+    Long getCategoryId();   // null = uncategorised
+    TransactionType getType();
+    Long getTotal();   // minor units
+    Long getCount();
+}
@@ -0,0 +1,24 @@
+package com.budgetwise.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+// One committed change, pushed on /api/events; unset fields are left out
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+
+    public enum Entity { EXPENSE, BUDGET, GOAL, ENTRY }
+
+    // CHANGED: several rows at once (batch, import, recurring); refetch instead of patching
+    public enum Action { CREATED, UPDATED, DELETED, CHANGED }
+
+    private Entity entity;
+    private Action action;
+    private Long id;
+    private Long goalId;     // entries
+    private String month;    // YYYY-MM a budget or expense change lands in
+    private Object data;     // the row as the matching GET returns it
+}
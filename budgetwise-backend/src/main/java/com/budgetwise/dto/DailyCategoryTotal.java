@@ -0,0 +1,15 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.TransactionType;
+
+import java.time.LocalDate;
+
+// Projection used to rebuild/verify the monthly category rollups
+public interface DailyCategoryTotal {
+    Long getUserId();
+    LocalDate getDate();
+    Long getCategoryId();
+    TransactionType getType();
+    Long getTotal();   // minor units
+    Long getCount();
+}
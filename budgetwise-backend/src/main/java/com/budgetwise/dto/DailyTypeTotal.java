@@ -0,0 +1,12 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.TransactionType;
+
+import java.time.LocalDate;
+
+// Projection for per-day / per-type sums computed in the database
+public interface DailyTypeTotal {
+    LocalDate getDate();
+    TransactionType getType();
+    Long getTotal();   // minor units
+}
@@ -0,0 +1,33 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.Money;
+import com.budgetwise.model.TransactionType;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ExpenseBatchRequest {
+
+    private List<Operation> operations = new ArrayList<>();
+
+    public enum Op {
+        CREATE, UPDATE, DELETE
+    }
+
+    @Data
+    public static class Operation {
+        private Op op;
+        private Long id;          // UPDATE and DELETE
+
+        // CREATE needs title, amount, type and date; UPDATE keeps any field left null
+        private String title;
+        @Money.Json
+        private Long amount;
+        private String category;
+        private TransactionType type;   // CREATE only, updates never change it
+        private LocalDate date;
+    }
+}
@@ -0,0 +1,25 @@
+package com.budgetwise.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ExpenseBatchResult {
+
+    private int applied;
+    private int failed;
+
+    // One entry per operation, in request order
+    private List<OperationResult> results = new ArrayList<>();
+
+    @Data
+    public static class OperationResult {
+        private final int index;     // 0-based position in the request
+        private final ExpenseBatchRequest.Op op;
+        private final Long id;
+        private final String error;  // null when the operation was applied
+        private final ExpenseResponse expense;   // CREATE and UPDATE only
+    }
+}
@@ -0,0 +1,22 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.TransactionType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class ExpenseFilter {
+    private TransactionType type;
+    private String category;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private String cursor;       // opaque token from the previous page
+    private Integer limit;
+}
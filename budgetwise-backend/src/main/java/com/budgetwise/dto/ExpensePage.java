@@ -0,0 +1,15 @@
+package com.budgetwise.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ExpensePage {
+
+    private List<ExpenseResponse> items;
+
+    private String nextCursor;   // null when there are no more rows
+}
@@ -1,5 +1,6 @@
 package com.budgetwise.dto;
 
+import com.budgetwise.model.Money;
 import lombok.Data;
 import java.time.LocalDate;
 
@@ -8,7 +9,8 @@ public class ExpenseResponse {
 
     private Long id;
     private String title;
-    private double amount;
+    @Money.Json
+    private long amount;
     private String category;
     private String type;     // ✅ NEW
     private LocalDate date;
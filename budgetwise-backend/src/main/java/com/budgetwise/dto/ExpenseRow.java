@@ -0,0 +1,15 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.TransactionType;
+
+import java.time.LocalDate;
+
+// Projection of an owned expense; read without putting the entity in the persistence context
+public interface ExpenseRow {
+    Long getId();
+    String getTitle();
+    Long getAmount();   // minor units
+    Long getCategoryId();
+    TransactionType getType();
+    LocalDate getDate();
+}
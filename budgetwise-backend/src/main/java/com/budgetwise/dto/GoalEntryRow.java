@@ -0,0 +1,12 @@
+package com.budgetwise.dto;
+
+import java.time.LocalDate;
+
+// Projection for the newest entries of each goal, fetched in one query
+public interface GoalEntryRow {
+    Long getGoalId();
+    Long getId();
+    Long getAmount();   // minor units
+    LocalDate getDate();
+    String getNote();
+}
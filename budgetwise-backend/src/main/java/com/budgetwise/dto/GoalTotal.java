@@ -0,0 +1,8 @@
+package com.budgetwise.dto;
+
+// Projection for per-goal savings totals computed in the database
+public interface GoalTotal {
+    Long getGoalId();
+    Long getTotal();   // minor units
+    Long getCount();
+}
@@ -0,0 +1,22 @@
+package com.budgetwise.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResult {
+
+    private int imported;
+    private int failed;
+
+    // Capped at budgetwise.import.max-errors; `failed` is always the full count
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    public static class RowError {
+        private final long row;     // 1-based data row (header excluded)
+        private final String message;
+    }
+}
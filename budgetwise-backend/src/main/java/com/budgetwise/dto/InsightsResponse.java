@@ -0,0 +1,44 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.Money;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class InsightsResponse {
+
+    private String from;    // YYYY-MM
+    private String to;      // YYYY-MM
+
+    @Money.Json
+    private long totalIncome;
+    @Money.Json
+    private long totalExpense;
+
+    private List<Month> months;
+
+    private List<Category> categories;
+
+    @Data
+    @Builder
+    public static class Month {
+        private String month;
+        @Money.Json
+        private long income;
+        @Money.Json
+        private long expense;
+    }
+
+    @Data
+    @Builder
+    public static class Category {
+        private String category;
+        private String type;
+        @Money.Json
+        private long total;
+        private long count;
+    }
+}
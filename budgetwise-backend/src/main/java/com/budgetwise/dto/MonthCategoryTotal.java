@@ -0,0 +1,8 @@
+package com.budgetwise.dto;
+
+// Projection for per-month / per-category sums over the rollup table
+public interface MonthCategoryTotal {
+    String getMonth();
+    Long getCategoryId();
+    Long getTotal();   // minor units
+}
@@ -0,0 +1,7 @@
+package com.budgetwise.dto;
+
+// Running EXPENSE totals of a month, read from the rollup
+public interface MonthSpent {
+    Long getCategory();   // minor units
+    Long getOverall();
+}
@@ -0,0 +1,21 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.Money;
+import com.budgetwise.model.TransactionType;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class RecurringRuleRequest {
+    private String title;
+    @Money.Json
+    private long amount;
+    private String category;
+    private TransactionType type;
+
+    private int intervalMonths = 1;   // 1 = monthly, 12 = yearly
+    private Integer dayOfMonth;       // defaults to the start date's day; 29-31 clamp to short months
+    private LocalDate startDate;
+    private LocalDate endDate;        // optional, inclusive
+}
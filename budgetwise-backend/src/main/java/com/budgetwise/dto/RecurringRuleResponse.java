@@ -0,0 +1,24 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.model.Money;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class RecurringRuleResponse {
+
+    private Long id;
+    private String title;
+    @Money.Json
+    private long amount;
+    private String category;
+    private String type;
+    private int intervalMonths;
+    private int dayOfMonth;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextDate;   // null once the rule has ended
+}
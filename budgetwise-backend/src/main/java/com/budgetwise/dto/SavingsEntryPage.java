@@ -0,0 +1,13 @@
+package com.budgetwise.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SavingsEntryPage {
+    private List<SavingsGoalResponse.Entry> items;
+    private String nextCursor;   // null on the last page
+}
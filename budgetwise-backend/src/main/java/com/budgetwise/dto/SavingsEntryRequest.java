@@ -1,12 +1,14 @@
 package com.budgetwise.dto;
 
+import com.budgetwise.model.Money;
 import lombok.Data;
 
 import java.time.LocalDate;
 
 @Data
 public class SavingsEntryRequest {
-    private double amount;
+    @Money.Json
+    private long amount;
     private LocalDate date;
     private String note;
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.budgetwise.dto;
 
+import com.budgetwise.model.Money;
 import lombok.Data;
 
 @Data
 public class SavingsGoalRequest {
     private String name;
-    private double targetAmount;
+    @Money.Json
+    private long targetAmount;
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.budgetwise.dto;
 
+import com.budgetwise.model.Money;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -11,18 +13,25 @@ public class SavingsGoalResponse {
 
     private Long id;
     private String name;
-    private double targetAmount;
-    private double totalSaved;
-    private double remaining;
-    private double percentage;
+    @Money.Json
+    private long targetAmount;
+    @Money.Json
+    private long totalSaved;
+    @Money.Json
+    private long remaining;
+    private BigDecimal percentage;
+    private long entryCount;
 
+    // Only filled when requested; newest first
     private List<Entry> entries;
+    private String entriesCursor;   // continue with GET /{id}/entries?cursor=
 
     @Data
     @Builder
     public static class Entry {
         private Long id;
-        private double amount;
+        @Money.Json
+        private long amount;
         private String date;
         private String note;
     }
@@ -0,0 +1,9 @@
+package com.budgetwise.exception;
+
+// No room for another change feed connection; answered with 503 + Retry-After
+public class ChangeFeedFullException extends RuntimeException {
+
+    public ChangeFeedFullException(String message) {
+        super(message);
+    }
+}
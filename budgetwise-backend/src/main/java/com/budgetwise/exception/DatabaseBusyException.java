@@ -0,0 +1,11 @@
+package com.budgetwise.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+// No database permit within the admission limits; answered with 503 + Retry-After
+public class DatabaseBusyException extends SQLTransientConnectionException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.budgetwise.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,9 +12,51 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> handleHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ChangeFeedFullException.class)
+    public ResponseEntity<?> handleChangeFeedFull(ChangeFeedFullException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(WriterBusyException.class)
+    public ResponseEntity<?> handleWriterBusy(WriterBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // A versioned row (e.g. a recurring rule) changed between read and write
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleConcurrentChange(OptimisticLockingFailureException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Changed by another request, reload and try again"));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<?> handleRuntime(RuntimeException ex) {
 
+        // Arrives wrapped by the JPA / transaction layers
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof DatabaseBusyException busy) {
+                return ResponseEntity
+                        .status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("error", busy.getMessage()));
+            }
+        }
+
         String message = ex.getMessage();
 
         if (message.contains("Email already registered")) {
@@ -27,6 +71,14 @@ public class GlobalExceptionHandler {
                     .body(Map.of("error", message));
         }
 
+        // "Expense not found" etc.: lookups are scoped to the caller, so someone
+        // else's id is answered exactly like a missing one
+        if (message.endsWith(" not found")) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", message));
+        }
+
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .body(Map.of("error", message));
@@ -0,0 +1,9 @@
+package com.budgetwise.exception;
+
+// The password-hashing queue is full; answered with 429 + Retry-After
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
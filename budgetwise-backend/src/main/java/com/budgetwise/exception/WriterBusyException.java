@@ -0,0 +1,9 @@
+package com.budgetwise.exception;
+
+// The group-commit writer cannot take the write (queue full or shutting down); answered with 503 + Retry-After
+public class WriterBusyException extends RuntimeException {
+
+    public WriterBusyException(String message) {
+        super(message);
+    }
+}
@@ -22,9 +22,13 @@ public class Budget {
 
     private String month; // YYYY-MM
 
-    private Double totalBudget;
+    @Money.Json
+    @Column(name = "total_budget_minor", nullable = false)
+    private long totalBudget;   // minor units
 
-    @ManyToOne
+    private String alertThresholds;   // percentages, e.g. "80,100"; null = defaults
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
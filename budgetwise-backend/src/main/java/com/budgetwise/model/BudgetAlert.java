@@ -0,0 +1,55 @@
+package com.budgetwise.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A budget threshold crossed by a write: recorded once per
+ * (user, month, budget, threshold), however often spending moves around it.
+ */
+@Entity
+@Getter
+@Setter
+@Table(
+    name = "budget_alerts",
+    uniqueConstraints = @UniqueConstraint(
+        name = "idx_budget_alerts_scope",
+        columnNames = {"user_id", "month", "category_id", "threshold"}
+    ),
+    indexes = @Index(name = "idx_budget_alerts_user_read_id", columnList = "user_id, read_at, id")
+)
+public class BudgetAlert {
+
+    // category_id of the overall budget's alerts
+    public static final long OVERALL = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String month; // YYYY-MM
+
+    @Column(name = "category_id", nullable = false)
+    private long categoryId;   // see Category; OVERALL = the whole budget
+
+    @Column(nullable = false)
+    private int threshold;     // percent of the budget
+
+    @Column(name = "spent_minor", nullable = false)
+    private long spent;        // minor units, at the moment of crossing
+
+    @Column(name = "budget_minor", nullable = false)
+    private long budget;       // minor units
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime readAt;   // null = unread
+}
@@ -0,0 +1,31 @@
+package com.budgetwise.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-user category dictionary. Expenses, category budgets and rollups
+ * reference a category by its id; the name lives here only, so a rename
+ * is a single row update.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+    name = "categories",
+    uniqueConstraints = @UniqueConstraint(name = "idx_categories_user_name", columnNames = {"user_id", "name"})
+)
+public class Category {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String name;
+}
@@ -14,9 +14,14 @@ public class CategoryBudget {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private String category;
+    @Column(name = "category_id")
+    private Long categoryId;   // see Category
 
-    private Double amount;
+    @Money.Json
+    @Column(name = "amount_minor", nullable = false)
+    private long amount;   // minor units
+
+    private String alertThresholds;   // percentages, e.g. "80,100"; null = defaults
 
     @ManyToOne
     @JoinColumn(name = "budget_id")
@@ -1,12 +1,20 @@
 package com.budgetwise.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "expenses")
+@Table(
+    name = "expenses",
+    indexes = {
+        @Index(name = "idx_expenses_user_date_id", columnList = "user_id, date, id"),
+        @Index(name = "idx_expenses_user_category_date_id", columnList = "user_id, category_id, date, id")
+    }
+)
 @Data
 public class Expense {
 
@@ -16,16 +24,26 @@ public class Expense {
 
     private String title;
 
-    private double amount;
+    @Money.Json
+    @Column(name = "amount_minor", nullable = false)
+    private long amount;   // minor units
 
-    private String category;
+    @JsonIgnore
+    @Column(name = "category_id")
+    private Long categoryId;   // see Category; null = uncategorised
+
+    @Transient
+    private String category;   // name, resolved through CategoryDictionary
 
     @Enumerated(EnumType.STRING)
     private TransactionType type;   // ✅ NEW
 
     private LocalDate date;
 
-    @ManyToOne
+    // Owner only; requests filter on user_id and never need the row
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 }
@@ -0,0 +1,96 @@
+package com.budgetwise.model;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amounts are held as long minor units (paise): sums are exact integer
+ * additions and never drift.
+ *
+ * The JSON contract is unchanged: fields annotated with {@link Json} are
+ * read and written as plain decimals (1250.5 in, 1250.50 out).
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private Money() {
+    }
+
+    // More than two decimals are rounded half-up
+    public static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static long parse(String amount) {
+        try {
+            return toMinor(new BigDecimal(amount.trim()));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new RuntimeException("Invalid amount: " + amount);
+        }
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public static String format(long minor) {
+        return toDecimal(minor).toPlainString();
+    }
+
+    // part / whole as a percentage with two decimals; 0 when there is no whole
+    public static BigDecimal percent(long part, long whole) {
+        if (whole == 0) {
+            return BigDecimal.ZERO.setScale(SCALE);
+        }
+        return BigDecimal.valueOf(part)
+                .multiply(HUNDRED)
+                .divide(BigDecimal.valueOf(whole), SCALE, RoundingMode.HALF_UP);
+    }
+
+    @Target(ElementType.FIELD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @JacksonAnnotationsInside
+    @JsonSerialize(using = Serializer.class)
+    @JsonDeserialize(using = Deserializer.class)
+    public @interface Json {
+    }
+
+    public static class Serializer extends ValueSerializer<Long> {
+        @Override
+        public void serialize(Long minor, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeNumber(toDecimal(minor));
+        }
+    }
+
+    public static class Deserializer extends ValueDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) {
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                return parse(p.getString());
+            }
+            try {
+                return toMinor(p.getDecimalValue());
+            } catch (ArithmeticException e) {
+                throw new RuntimeException("Invalid amount: " + p.getString());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.budgetwise.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running totals per (user, month, category, type), kept in step with
+ * the expenses table by ExpenseService so summaries read O(categories) rows.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+    name = "monthly_category_totals",
+    indexes = @Index(
+        name = "idx_rollup_user_month_category_id_type",
+        columnList = "user_id, month, category_id, type"
+    )
+)
+public class MonthlyCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String month; // YYYY-MM
+
+    @Column(name = "category_id", nullable = false)
+    private long categoryId;   // 0 = uncategorised
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(name = "total_minor", nullable = false)
+    private long total;   // minor units
+
+    private long txCount;
+}
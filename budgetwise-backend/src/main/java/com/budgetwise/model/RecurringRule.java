@@ -0,0 +1,65 @@
+package com.budgetwise.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * A transaction that repeats every {@code intervalMonths} months on
+ * {@code dayOfMonth} (clamped to the month's length), from the start date
+ * until the optional end date. The scheduler writes each occurrence as an
+ * {@link Expense} and moves {@code nextDate} past it in the same transaction.
+ * Edits and the scheduler both bump {@code version}, so neither overwrites
+ * the other.
+ */
+@Entity
+@Getter
+@Setter
+@Table(
+    name = "recurring_rules",
+    indexes = @Index(name = "idx_recurring_rules_user_next_date", columnList = "user_id, next_date")
+)
+public class RecurringRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "amount_minor", nullable = false)
+    private long amount;   // minor units
+
+    @Column(name = "category_id")
+    private Long categoryId;   // see Category; null = uncategorised
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false)
+    private int intervalMonths;
+
+    @Column(nullable = false)
+    private int dayOfMonth;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    private LocalDate endDate;   // inclusive; null = open-ended
+
+    private LocalDate nextDate;  // first occurrence not yet materialized; null = ended
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+}
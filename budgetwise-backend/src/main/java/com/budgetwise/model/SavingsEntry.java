@@ -7,6 +7,7 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "idx_savings_entry_goal_date_id", columnList = "goal_id, date, id"))
 @Getter
 @Setter
 public class SavingsEntry {
@@ -15,12 +16,14 @@ public class SavingsEntry {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private double amount;
+    @Money.Json
+    @Column(name = "amount_minor", nullable = false)
+    private long amount;   // minor units
 
     private LocalDate date;
 
     private String note;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private SavingsGoal goal;
 }
\ No newline at end of file
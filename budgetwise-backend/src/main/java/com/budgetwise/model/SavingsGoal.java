@@ -19,11 +19,13 @@ public class SavingsGoal {
 
     private String name;
 
-    private double targetAmount;
+    @Money.Json
+    @Column(name = "target_amount_minor", nullable = false)
+    private long targetAmount;   // minor units
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
     @OneToMany(
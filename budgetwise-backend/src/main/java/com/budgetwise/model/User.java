@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    indexes = {
+        @Index(name = "idx_users_reset_token", columnList = "reset_token"),
+        @Index(name = "idx_users_reset_token_expiry", columnList = "reset_token_expiry")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,7 +35,7 @@ public class User {
     private String role; // USER or ADMIN
 
     @Column
-    private String resetToken;
+    private String resetToken; // SHA-256 of the emailed token, never the token itself
 
     @Column
     private Long resetTokenExpiry;
@@ -0,0 +1,48 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.model.BudgetAlert;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    List<BudgetAlert> findByUserIdAndReadAtIsNullOrderByIdDesc(Long userId, Limit limit);
+
+    // 0 when this threshold was already recorded for the month and budget
+    @Modifying
+    @Query(value = """
+            insert into budget_alerts (user_id, month, category_id, threshold, spent_minor, budget_minor, created_at)
+            select :userId, :month, :categoryId, :threshold, :spent, :budget, :createdAt
+            where not exists (
+                select 1 from budget_alerts
+                where user_id = :userId and month = :month
+                  and category_id = :categoryId and threshold = :threshold
+            )
+            """, nativeQuery = true)
+    int insertIfAbsent(
+            @Param("userId") Long userId,
+            @Param("month") String month,
+            @Param("categoryId") long categoryId,
+            @Param("threshold") int threshold,
+            @Param("spent") long spent,
+            @Param("budget") long budget,
+            @Param("createdAt") LocalDateTime createdAt
+    );
+
+    @Modifying
+    @Query("""
+            update BudgetAlert a set a.readAt = :now
+            where a.userId = :userId and a.readAt is null and a.id <= :upTo
+            """)
+    int markRead(
+            @Param("userId") Long userId,
+            @Param("upTo") long upTo,
+            @Param("now") LocalDateTime now
+    );
+}
@@ -1,16 +1,50 @@
 package com.budgetwise.repository;
 
+import com.budgetwise.dto.BudgetLimits;
 import com.budgetwise.model.Budget;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
-    Optional<Budget> findByUserEmailAndMonth(String email, String month);
+    Optional<Budget> findByUserIdAndMonth(Long userId, String month);
 
-    Optional<Budget> findFirstByUserEmailAndMonthLessThanOrderByMonthDesc(
-            String email,
+    Optional<Budget> findFirstByUserIdAndMonthLessThanOrderByMonthDesc(
+            Long userId,
             String month
     );
+
+    Optional<Budget> findFirstByUserIdAndMonthGreaterThanOrderByMonthAsc(
+            Long userId,
+            String month
+    );
+
+    @EntityGraph(attributePaths = "categoryBudgets")
+    List<Budget> findByUserIdAndMonthBetweenOrderByMonth(
+            Long userId,
+            String from,
+            String to
+    );
+
+    // Budget alerts: the budget in effect for the month and the one category budget touched
+    @Query("""
+            select b.totalBudget as totalBudget, b.alertThresholds as alertThresholds,
+                   cb.amount as categoryBudget, cb.alertThresholds as categoryAlertThresholds
+            from Budget b
+            left join b.categoryBudgets cb on cb.categoryId = :categoryId
+            where b.user.id = :userId and b.month <= :month
+            order by b.month desc
+            """)
+    List<BudgetLimits> findLimits(
+            @Param("userId") Long userId,
+            @Param("month") String month,
+            @Param("categoryId") Long categoryId,
+            Limit limit
+    );
 }
@@ -0,0 +1,28 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    List<Category> findByUserIdOrderByName(Long userId);
+
+    Optional<Category> findByUserIdAndName(Long userId, String name);
+
+    Optional<Category> findByIdAndUserId(Long id, Long userId);
+
+    // idx_categories_user_name is unique, so a name another writer got to
+    // first is left alone and looked up instead
+    @Modifying
+    @Query(value = """
+            insert or ignore into categories (user_id, name)
+            values (:userId, :name)
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("name") String name);
+}
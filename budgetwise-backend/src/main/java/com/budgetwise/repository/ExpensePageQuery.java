@@ -0,0 +1,28 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ExpensePageQuery {
+
+    // Keyset page ordered by (date desc, id desc) — the cursor is the last
+    // (date, id) of the previous page, so deep pages cost the same as the first.
+    // Undated rows come last: a dated cursor pages the dated rows only, and a
+    // cursorId without a cursorDate pages the undated ones (Long.MAX_VALUE
+    // starts at the top of them).
+    // Null filters are left out of the query rather than bound as null.
+    List<Expense> findPage(
+            Long userId,
+            TransactionType type,
+            Long categoryId,
+            LocalDate start,
+            LocalDate end,
+            LocalDate cursorDate,
+            Long cursorId,
+            Limit limit
+    );
+}
@@ -0,0 +1,77 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the page query from the filters actually given. A
+ * "(:x is null or col = :x)" predicate hides the column from SQLite's
+ * planner, so a type or category filter would walk every row of the
+ * user on (user_id, date, id) instead of using its own index.
+ */
+@RequiredArgsConstructor
+class ExpensePageQueryImpl implements ExpensePageQuery {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Expense> findPage(
+            Long userId,
+            TransactionType type,
+            Long categoryId,
+            LocalDate start,
+            LocalDate end,
+            LocalDate cursorDate,
+            Long cursorId,
+            Limit limit
+    ) {
+        StringBuilder jpql = new StringBuilder("select e from Expense e where e.user.id = :userId");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("userId", userId);
+
+        if (type != null) {
+            jpql.append(" and e.type = :type");
+            params.put("type", type);
+        }
+        if (categoryId != null) {
+            jpql.append(" and e.categoryId = :categoryId");
+            params.put("categoryId", categoryId);
+        }
+        if (start != null) {
+            jpql.append(" and e.date >= :start");
+            params.put("start", start);
+        }
+        if (end != null) {
+            jpql.append(" and e.date <= :end");
+            params.put("end", end);
+        }
+        if (cursorDate != null) {
+            // The leading "date <=" is a range SQLite seeks on; an OR of
+            // alternatives would walk every newer row of the user instead
+            jpql.append(" and e.date <= :cursorDate and (e.date < :cursorDate or e.id < :cursorId)");
+            params.put("cursorDate", cursorDate);
+            params.put("cursorId", cursorId);
+        } else if (cursorId != null) {
+            jpql.append(" and e.date is null and e.id < :cursorId");
+            params.put("cursorId", cursorId);
+        }
+        // SQLite sorts NULLs last when descending, which the cursor relies on
+        jpql.append(" order by e.date desc, e.id desc");
+
+        TypedQuery<Expense> query = entityManager.createQuery(jpql.toString(), Expense.class);
+        params.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+}
@@ -1,29 +1,79 @@
 package com.budgetwise.repository;
 
+import com.budgetwise.dto.CategoryTypeTotal;
+import com.budgetwise.dto.DailyCategoryTotal;
+import com.budgetwise.dto.DailyTypeTotal;
+import com.budgetwise.dto.ExpenseRow;
 import com.budgetwise.model.Expense;
-import com.budgetwise.model.TransactionType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpensePageQuery {
 
     List<Expense> findByUserId(Long userId);
 
-    List<Expense> findByUserEmailAndDateBetween(
-            String email,
-            LocalDate start,
-            LocalDate end
+    Optional<Expense> findByIdAndUserId(Long id, Long userId);
+
+    // Batch ownership check: ids that are missing or someone else's are simply absent
+    @Query("""
+            select e.id as id, e.title as title, e.amount as amount,
+                   e.categoryId as categoryId, e.type as type, e.date as date
+            from Expense e
+            where e.user.id = :userId and e.id in :ids
+            """)
+    List<ExpenseRow> findOwned(
+            @Param("userId") Long userId,
+            @Param("ids") Collection<Long> ids
     );
 
-    // ✅ ADD THIS — expense-only fetch for budget calculations
-    List<Expense> findByUserEmailAndDateBetweenAndType(
-            String email,
-            LocalDate start,
-            LocalDate end,
-            TransactionType type
+    @Modifying
+    @Query("delete from Expense e where e.user.id = :userId and e.id in :ids")
+    int deleteOwned(
+            @Param("userId") Long userId,
+            @Param("ids") Collection<Long> ids
+    );
+
+    // Insights — grouped per day so month buckets can be folded without
+    // relying on SQLite date functions (dates are stored as epoch millis)
+    @Query("""
+            select e.date as date, e.type as type, sum(e.amount) as total
+            from Expense e
+            where e.user.id = :userId and e.date between :start and :end
+            group by e.date, e.type
+            """)
+    List<DailyTypeTotal> sumByDateAndType(
+            @Param("userId") Long userId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
     );
-}
 
+    @Query("""
+            select e.categoryId as categoryId, e.type as type,
+                   sum(e.amount) as total, count(e) as count
+            from Expense e
+            where e.user.id = :userId and e.date between :start and :end
+            group by e.categoryId, e.type
+            """)
+    List<CategoryTypeTotal> sumByCategoryAndType(
+            @Param("userId") Long userId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
 
+    // Rollup rebuild — per user/day/category/type, folded into months by RollupService
+    @Query("""
+            select e.user.id as userId, e.date as date, e.categoryId as categoryId,
+                   e.type as type, sum(e.amount) as total, count(e) as count
+            from Expense e
+            where e.date is not null and e.type is not null
+            group by e.user.id, e.date, e.categoryId, e.type
+            """)
+    List<DailyCategoryTotal> sumForRollup();
+}
@@ -0,0 +1,67 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.dto.MonthCategoryTotal;
+import com.budgetwise.dto.MonthSpent;
+import com.budgetwise.model.MonthlyCategoryTotal;
+import com.budgetwise.model.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, Long> {
+
+    List<MonthlyCategoryTotal> findByUserIdAndMonthAndType(
+            Long userId,
+            String month,
+            TransactionType type
+    );
+
+    @Query("""
+            select r.month as month, r.categoryId as categoryId, sum(r.total) as total
+            from MonthlyCategoryTotal r
+            where r.user.id = :userId and r.type = :type
+              and r.month between :from and :to
+            group by r.month, r.categoryId
+            """)
+    List<MonthCategoryTotal> sumByMonthAndCategory(
+            @Param("userId") Long userId,
+            @Param("type") TransactionType type,
+            @Param("from") String from,
+            @Param("to") String to
+    );
+
+    // One category's total and the month's total, off the same index range
+    @Query("""
+            select sum(case when r.categoryId = :categoryId then r.total else 0 end) as category,
+                   sum(r.total) as overall
+            from MonthlyCategoryTotal r
+            where r.user.id = :userId and r.month = :month
+              and r.type = com.budgetwise.model.TransactionType.EXPENSE
+            """)
+    MonthSpent spentInMonth(
+            @Param("userId") Long userId,
+            @Param("month") String month,
+            @Param("categoryId") long categoryId
+    );
+
+    // Increment an existing bucket in place; returns 0 when the bucket does not exist yet.
+    // SQLite holds the write lock from here to commit, so update-then-insert cannot race.
+    @Modifying
+    @Query("""
+            update MonthlyCategoryTotal r
+            set r.total = r.total + :amount, r.txCount = r.txCount + :count
+            where r.user.id = :userId and r.month = :month
+              and r.categoryId = :categoryId and r.type = :type
+            """)
+    int increment(
+            @Param("userId") Long userId,
+            @Param("month") String month,
+            @Param("categoryId") long categoryId,
+            @Param("type") TransactionType type,
+            @Param("amount") long amount,
+            @Param("count") long count
+    );
+}
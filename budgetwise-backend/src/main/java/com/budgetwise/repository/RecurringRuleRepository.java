@@ -0,0 +1,41 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.model.RecurringRule;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+
+    List<RecurringRule> findByUserIdOrderById(Long userId);
+
+    Optional<RecurringRule> findByIdAndUserId(Long id, Long userId);
+
+    // Keyset over users with something due, in user order (idx_recurring_rules_user_next_date)
+    @Query("""
+            select distinct r.user.id from RecurringRule r
+            where r.user.id > :afterUserId and r.nextDate <= :today
+            order by r.user.id
+            """)
+    List<Long> findDueUserIds(
+            @Param("today") LocalDate today,
+            @Param("afterUserId") Long afterUserId,
+            Limit limit
+    );
+
+    @Query("""
+            select r from RecurringRule r
+            where r.user.id in :userIds and r.nextDate <= :today
+            order by r.user.id, r.id
+            """)
+    List<RecurringRule> findDue(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("today") LocalDate today
+    );
+}
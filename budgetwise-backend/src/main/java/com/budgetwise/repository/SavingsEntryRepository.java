@@ -1,7 +1,112 @@
 package com.budgetwise.repository;
 
+import com.budgetwise.dto.GoalEntryRow;
+import com.budgetwise.dto.GoalTotal;
 import com.budgetwise.model.SavingsEntry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 public interface SavingsEntryRepository extends JpaRepository<SavingsEntry, Long> {
-}
\ No newline at end of file
+
+    @Query("""
+            select e.goal.id as goalId, sum(e.amount) as total, count(e) as count
+            from SavingsEntry e
+            where e.goal.user.id = :userId
+            group by e.goal.id
+            """)
+    List<GoalTotal> sumByGoal(@Param("userId") Long userId);
+
+    // One goal's total off its own index; empty while the goal has no entries.
+    // Callers check ownership of the goal first.
+    @Query("""
+            select e.goal.id as goalId, sum(e.amount) as total, count(e) as count
+            from SavingsEntry e
+            where e.goal.id = :goalId
+            group by e.goal.id
+            """)
+    Optional<GoalTotal> sumForGoal(@Param("goalId") Long goalId);
+
+    // Newest :perGoal entries of every goal the user owns
+    @Query("""
+            select r.goalId as goalId, r.id as id, r.amount as amount, r.date as date, r.note as note
+            from (
+                select e.goal.id as goalId, e.id as id, e.amount as amount, e.date as date, e.note as note,
+                       row_number() over (partition by e.goal.id order by e.date desc, e.id desc) as rn
+                from SavingsEntry e
+                where e.goal.user.id = :userId
+            ) r
+            where r.rn <= :perGoal
+            order by r.goalId, r.date desc, r.id desc
+            """)
+    List<GoalEntryRow> findLatestPerGoal(
+            @Param("userId") Long userId,
+            @Param("perGoal") long perGoal
+    );
+
+    // Ownership is part of the predicate: 0 when the entry is missing or someone else's
+    @Modifying
+    @Query("""
+            delete from SavingsEntry e
+            where e.id = :id
+              and e.goal.id in (select g.id from SavingsGoal g where g.user.id = :userId)
+            """)
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Keyset pages ordered by (date desc, id desc). Ownership is part of the
+    // predicate, so foreign goals just page empty. Undated entries sort last
+    // (SQLite NULLs in a descending order) and are paged on their own once
+    // the dated ones run out: an OR across both would not seek on the index.
+
+    // First page, dated and undated entries alike
+    @Query("""
+            select e from SavingsEntry e
+            where e.goal.id = :goalId
+              and e.goal.user.id = :userId
+            order by e.date desc, e.id desc
+            """)
+    List<SavingsEntry> findPage(
+            @Param("goalId") Long goalId,
+            @Param("userId") Long userId,
+            Limit limit
+    );
+
+    // Dated entries after the cursor; the leading "date <=" is the seekable range
+    @Query("""
+            select e from SavingsEntry e
+            where e.goal.id = :goalId
+              and e.goal.user.id = :userId
+              and e.date <= :cursorDate
+              and (e.date < :cursorDate or e.id < :cursorId)
+            order by e.date desc, e.id desc
+            """)
+    List<SavingsEntry> findPageBefore(
+            @Param("goalId") Long goalId,
+            @Param("userId") Long userId,
+            @Param("cursorDate") LocalDate cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    // Undated entries after the cursor id (Long.MAX_VALUE for the first of them)
+    @Query("""
+            select e from SavingsEntry e
+            where e.goal.id = :goalId
+              and e.goal.user.id = :userId
+              and e.date is null
+              and e.id < :cursorId
+            order by e.id desc
+            """)
+    List<SavingsEntry> findUndatedPageBefore(
+            @Param("goalId") Long goalId,
+            @Param("userId") Long userId,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+}
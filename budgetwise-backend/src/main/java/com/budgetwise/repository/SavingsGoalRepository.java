@@ -8,7 +8,7 @@ import java.util.Optional;
 
 public interface SavingsGoalRepository extends JpaRepository<SavingsGoal, Long> {
 
-    List<SavingsGoal> findByUserEmail(String email);
+    List<SavingsGoal> findByUserId(Long userId);
 
-    Optional<SavingsGoal> findByIdAndUserEmail(Long id, String email);
+    Optional<SavingsGoal> findByIdAndUserId(Long id, Long userId);
 }
\ No newline at end of file
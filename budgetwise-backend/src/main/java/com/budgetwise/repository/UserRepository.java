@@ -1,10 +1,29 @@
 package com.budgetwise.repository;
 
 import com.budgetwise.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Indexed lookup on the hashed reset token
+    Optional<User> findByResetToken(String resetTokenHash);
+
+    @Query("select u.id from User u where u.resetTokenExpiry < :now")
+    List<Long> findIdsWithExpiredResetToken(@Param("now") long now, Limit limit);
+
+    @Modifying
+    @Query("""
+            update User u
+            set u.resetToken = null, u.resetTokenExpiry = null
+            where u.id in :ids
+            """)
+    int clearResetTokens(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,24 @@
+package com.budgetwise.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal built from the JWT claims alone, so authenticating a request
+ * never loads the user. getName() stays the email for code that only
+ * needs a name.
+ */
+public record AuthenticatedUser(Long id, String email, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
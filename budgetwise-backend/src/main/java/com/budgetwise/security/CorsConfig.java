@@ -18,6 +18,7 @@ public class CorsConfig {
         config.setAllowedOrigins(List.of("*"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("X-Next-Cursor"));
         config.setAllowCredentials(false);
 
         UrlBasedCorsConfigurationSource source =
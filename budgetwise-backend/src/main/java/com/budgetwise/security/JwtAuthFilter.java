@@ -1,26 +1,30 @@
 package com.budgetwise.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final TokenCache tokenCache;
+
+    private final WebAuthenticationDetailsSource detailsSource =
+            new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(
@@ -29,9 +33,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
-        // 🔍 DEBUG (keep for now)
-        System.out.println("JWT FILTER HIT: " +
-                request.getMethod() + " " + request.getRequestURI());
+        log.debug("JWT FILTER HIT: {} {}", request.getMethod(), request.getRequestURI());
 
         String authHeader = request.getHeader("Authorization");
 
@@ -42,23 +44,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractUsername(token);
-
-                UserDetails userDetails =
-                        userDetailsService.loadUserByUsername(email);
+            AuthenticatedUser user = resolvePrincipal(token);
 
-               UsernamePasswordAuthenticationToken authentication =
+            if (user != null) {
+                UsernamePasswordAuthenticationToken authentication =
                         UsernamePasswordAuthenticationToken.authenticated(
-                                 userDetails,
-                                 null,
-                                 userDetails.getAuthorities()
-                 );
-
+                                user,
+                                null,
+                                user.authorities()
+                        );
 
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
+                authentication.setDetails(detailsSource.buildDetails(request));
 
                 SecurityContextHolder
                         .getContext()
@@ -69,6 +65,30 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Cache hit → hash lookup; miss → revocation check and one parse, the principal comes from the claims
+    private AuthenticatedUser resolvePrincipal(String token) {
+        AuthenticatedUser cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Logout drops the entry, so a revoked token always ends up here
+        if (tokenCache.isRevoked(token)) {
+            return null;
+        }
+
+        Claims claims = jwtUtil.parseVerified(token);
+        if (claims == null) {
+            return null;
+        }
+
+        AuthenticatedUser user = jwtUtil.toPrincipal(claims);
+        if (user != null) {
+            tokenCache.put(token, user, claims.getExpiration().getTime());
+        }
+        return user;
+    }
+
     /**
      * 🔥 CRITICAL FIX
      * Force this filter to run for ALL requests (GET included)
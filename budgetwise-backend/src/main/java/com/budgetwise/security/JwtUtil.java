@@ -1,9 +1,14 @@
 package com.budgetwise.security;
 
+import com.budgetwise.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -14,10 +19,30 @@ public class JwtUtil {
 
     private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
 
-    // Generate JWT
-    public String generateToken(String email) {
+    // Parsers are immutable and thread-safe — build once, reuse for every request
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    private final MeterRegistry registry;
+    private final Counter validations;
+
+    public JwtUtil(MeterRegistry registry) {
+        this.registry = registry;
+        this.validations = Counter.builder("budgetwise.jwt.validations")
+                .description("Tokens whose signature and expiry were checked")
+                .register(registry);
+    }
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
+    // Generate JWT — id and role ride along so requests authenticate without a user lookup
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole())
                 .setIssuedAt(new Date())
                 .setExpiration(
                         new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)
@@ -33,19 +58,36 @@ public class JwtUtil {
 
     // Validate token
     public boolean validateToken(String token) {
+        return parseVerified(token) != null;
+    }
+
+    // Verify signature + expiry and return the claims in one parse, or null if invalid
+    public Claims parseVerified(String token) {
+        validations.increment();
         try {
-            getClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return getClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Tagged by exception type (expired, bad signature, malformed...), a small fixed set
+            registry.counter("budgetwise.jwt.failures", "reason", e.getClass().getSimpleName())
+                    .increment();
+            return null;
+        }
+    }
+
+    // Principal from verified claims; null for tokens without the id and role claims
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+
+        if (userId == null || role == null) {
+            return null;
         }
+        return new AuthenticatedUser(userId, claims.getSubject(), role);
     }
 
     // Parse claims
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -1,15 +1,75 @@
 package com.budgetwise.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 @Configuration
 public class PasswordConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry registry,
+            @Value("${budgetwise.bcrypt.strength:10}") int strength,
+            @Value("${budgetwise.bcrypt.threads:0}") int threads,
+            @Value("${budgetwise.bcrypt.queue-capacity:32}") int queueCapacity
+    ) {
+        return new BoundedPasswordEncoder(
+                new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), strength, registry),
+                // 0 = one hashing thread per core
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                registry
+        );
+    }
+
+    // BCrypt is deliberately slow; time it so login/register latency can be attributed
+    static class TimedPasswordEncoder implements PasswordEncoder {
+
+        // $2a$10$... : version, cost, salt + hash
+        private static final Pattern BCRYPT = Pattern.compile("\\$2[abxy]?\\$(\\d\\d)\\$.{53}");
+
+        private final PasswordEncoder delegate;
+        private final int strength;
+        private final Timer encodeTimer;
+        private final Timer matchesTimer;
+
+        TimedPasswordEncoder(PasswordEncoder delegate, int strength, MeterRegistry registry) {
+            this.delegate = delegate;
+            this.strength = strength;
+            this.encodeTimer = Timer.builder("budgetwise.bcrypt")
+                    .tag("operation", "encode")
+                    .register(registry);
+            this.matchesTimer = Timer.builder("budgetwise.bcrypt")
+                    .tag("operation", "matches")
+                    .register(registry);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return encodeTimer.record(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        // Any other cost than the configured one, so lowering the work factor takes effect too
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            Matcher m = BCRYPT.matcher(encodedPassword);
+            return m.matches() && Integer.parseInt(m.group(1)) != strength;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.budgetwise.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,8 +26,19 @@ public class SecurityConfig {
             )
 
             .authorizeHttpRequests(auth -> auth
+                // Completing a stream (/api/events) re-dispatches a request that was
+                // already authorized; stateless sessions carry no principal into it
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 .requestMatchers("/api/auth/**").permitAll()
 
+                // Health checks don't carry a JWT
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+
+                // Metrics reveal per-URI traffic, pool state and JVM details; the
+                // scraper authenticates with an ADMIN token
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                 // ✅ GET expenses allowed, token handled manually
                 .requestMatchers(HttpMethod.GET, "/api/expenses/**").permitAll()
 
@@ -1,13 +1,26 @@
 package com.budgetwise.security;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
 
 public class SecurityUtil {
 
-    public static String getCurrentUserEmail() {
-        return SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getName();
+    // Null when the request carried no valid token
+    public static AuthenticatedUser getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        return auth != null && auth.getPrincipal() instanceof AuthenticatedUser user
+                ? user
+                : null;
+    }
+
+    public static Long getCurrentUserId() {
+        AuthenticatedUser user = getCurrentUser();
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        }
+        return user.id();
     }
-}
\ No newline at end of file
+}
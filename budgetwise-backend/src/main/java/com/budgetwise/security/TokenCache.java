@@ -0,0 +1,139 @@
+package com.budgetwise.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already-verified JWTs → authenticated principal.
+ *
+ * An entry lives until the earlier of the token's exp claim and the
+ * configured TTL. The principal comes from the claims, so a hit only saves
+ * the signature check.
+ *
+ * A logged-out token is dropped and refused until its exp claim. Like the
+ * cache itself this is in memory, so it holds for this instance only.
+ */
+@Component
+public class TokenCache {
+
+    private record Entry(AuthenticatedUser principal, long expiresAt) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Logged-out token → its exp claim
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public TokenCache(
+            @Value("${budgetwise.jwt.cache.max-size:10000}") int maxSize,
+            @Value("${budgetwise.jwt.cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry registry
+    ) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+
+        FunctionCounter.builder("budgetwise.jwt.cache.hits", hits, LongAdder::sum)
+                .description("Requests authenticated from the verified-token cache")
+                .register(registry);
+        FunctionCounter.builder("budgetwise.jwt.cache.misses", misses, LongAdder::sum)
+                .description("Requests that had to parse and verify the token")
+                .register(registry);
+        FunctionCounter.builder("budgetwise.jwt.cache.evictions", evictions, LongAdder::sum)
+                .description("Entries dropped because they expired or the cache was full")
+                .register(registry);
+        Gauge.builder("budgetwise.jwt.cache.size", entries, Map::size)
+                .register(registry);
+        Gauge.builder("budgetwise.jwt.revoked", revoked, Map::size)
+                .description("Logged-out tokens refused until they expire")
+                .register(registry);
+    }
+
+    public AuthenticatedUser get(String token) {
+        Entry entry = entries.get(token);
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            if (entries.remove(token, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.principal();
+    }
+
+    public void put(String token, AuthenticatedUser principal, long tokenExpiresAt) {
+        // A request verified just before its logout must not cache the token again
+        if (isRevoked(token)) {
+            return;
+        }
+
+        long expiresAt = Math.min(tokenExpiresAt, System.currentTimeMillis() + ttlMillis);
+
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+
+        entries.put(token, new Entry(principal, expiresAt));
+    }
+
+    public boolean isRevoked(String token) {
+        Long until = revoked.get(token);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public void revoke(String token, long tokenExpiresAt) {
+        long now = System.currentTimeMillis();
+
+        // Past their exp the signature check refuses them anyway
+        revoked.values().removeIf(until -> until <= now);
+        revoked.put(token, tokenExpiresAt);
+
+        if (entries.remove(token) != null) {
+            evictions.increment();
+        }
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+
+        // Expired entries first; if still full, drop arbitrary ones down to 90%
+        // so the sweep is amortised over many inserts
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().expiresAt() <= now;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+}
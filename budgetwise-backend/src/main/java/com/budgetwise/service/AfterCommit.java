@@ -0,0 +1,29 @@
+package com.budgetwise.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work that makes a write visible outside the database (version
+ * bumps, change events) until the surrounding transaction has committed.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    // Dropped on rollback; outside a transaction it runs at once
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
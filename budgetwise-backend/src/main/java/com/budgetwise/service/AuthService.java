@@ -1,20 +1,44 @@
 package com.budgetwise.service;
 
+import com.budgetwise.exception.PasswordHashingBusyException;
 import com.budgetwise.model.User;
 import com.budgetwise.repository.UserRepository;
 import com.budgetwise.security.JwtUtil;
+import com.budgetwise.security.TokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import java.util.UUID;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Slf4j
 @Service
+@Timed("budgetwise.service")
 @RequiredArgsConstructor
 public class AuthService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final TokenCache tokenCache;
+
+    // Writes go through the template so they queue on the SQLite writer in
+    // prod; hashing stays outside, the writer is never held for BCrypt
+    private final TransactionTemplate transactionTemplate;
+
+    private final Environment environment;
 
     public User register(User user) {
 
@@ -24,7 +48,7 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setRole("USER");
-        return userRepository.save(user);
+        return transactionTemplate.execute(status -> userRepository.save(user));
     }
 
     public String login(String email, String password) {
@@ -38,7 +62,25 @@ public class AuthService {
             throw new RuntimeException("Invalid email or password");
         }
 
-        return jwtUtil.generateToken(email);
+        // The work factor changed since this hash was made; the password is at hand, so rehash
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            try {
+                user.setPassword(passwordEncoder.encode(password));
+                transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
+            } catch (PasswordHashingBusyException e) {
+                // Try again on a later login rather than failing this one
+            }
+        }
+
+        return jwtUtil.generateToken(user);
+    }
+
+    // Refuses the token from now on; an invalid or expired one is already refused
+    public void logout(String token) {
+        Claims claims = jwtUtil.parseVerified(token);
+        if (claims != null) {
+            tokenCache.revoke(token, claims.getExpiration().getTime());
+        }
     }
 
     public void generateResetToken(String email) {
@@ -46,22 +88,29 @@ public class AuthService {
        User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new RuntimeException("Email not found"));
 
-       String token = UUID.randomUUID().toString();
+       byte[] raw = new byte[32];
+       RANDOM.nextBytes(raw);
+       String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
 
-       user.setResetToken(token);
+       // Only the hash is stored, so a leaked users table can't be used to reset passwords
+       user.setResetToken(hashResetToken(token));
        user.setResetTokenExpiry(System.currentTimeMillis() + 15 * 60 * 1000); // 15 minutes
 
-       userRepository.save(user);
+       transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
 
-    // In real app → email token
-    System.out.println("RESET TOKEN (DEV ONLY): " + token);
+       // No mail is sent yet; only a local dev run may see the plaintext token
+       if (environment.matchesProfiles("dev")) {
+           log.debug("Password reset token for {}: {}", email, token);
+       }
     }
 
        public void resetPassword(String token, String newPassword) {
 
-       User user = userRepository.findAll().stream()
-            .filter(u -> token.equals(u.getResetToken()))
-            .findFirst()
+       if (token == null || token.isBlank()) {
+            throw new RuntimeException("Invalid or expired token");
+       }
+
+       User user = userRepository.findByResetToken(hashResetToken(token))
             .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
 
        if (user.getResetTokenExpiry() < System.currentTimeMillis()) {
@@ -72,9 +121,16 @@ public class AuthService {
        user.setResetToken(null);
        user.setResetTokenExpiry(null);
 
-       userRepository.save(user);
+       transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
     }
 
-
+    private static String hashResetToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
-
@@ -0,0 +1,182 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.BudgetAlertResponse;
+import com.budgetwise.dto.BudgetLimits;
+import com.budgetwise.dto.MonthSpent;
+import com.budgetwise.model.BudgetAlert;
+import com.budgetwise.repository.BudgetAlertRepository;
+import com.budgetwise.repository.BudgetRepository;
+import com.budgetwise.repository.MonthlyCategoryTotalRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Budget threshold alerts, evaluated as spending is written instead of by
+ * polling the summary.
+ *
+ * RollupService reports a write's net change per EXPENSE bucket of a month
+ * once every bucket holds its new total. Only the categories that grew and
+ * the overall budget can cross a threshold, so a write costs one budget
+ * lookup and one read of the running totals per category it grew, whatever
+ * the number of transactions in the month. The overall budget is checked on
+ * the month's net change, so moving spending between categories never
+ * alerts on it.
+ */
+@Service
+@Timed("budgetwise.service")
+@RequiredArgsConstructor
+public class BudgetAlertService {
+
+    private final BudgetAlertRepository alertRepository;
+    private final BudgetRepository budgetRepository;
+    private final MonthlyCategoryTotalRepository rollupRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final UserDataVersions dataVersions;
+
+    @Value("${budgetwise.alerts.default-thresholds:80,100}")
+    private List<Integer> defaultThresholds;
+
+    @Value("${budgetwise.alerts.max-unread:100}")
+    private int maxUnread;
+
+    // Called once the rollup buckets already hold the write; categoryDeltas = bucket -> net change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void spent(Long userId, String month, Map<Long, Long> categoryDeltas) {
+        long net = 0;
+        BudgetLimits limits = null;
+        Long overall = null;
+
+        for (Map.Entry<Long, Long> e : categoryDeltas.entrySet()) {
+            long categoryId = e.getKey();
+            long delta = e.getValue();
+            net += delta;
+
+            // Spending only crosses thresholds upwards
+            if (delta <= 0) {
+                continue;
+            }
+
+            List<BudgetLimits> found = budgetRepository.findLimits(userId, month, categoryId, Limit.of(1));
+            if (found.isEmpty()) {
+                return;   // no budget in effect yet
+            }
+
+            limits = found.get(0);
+            MonthSpent spent = rollupRepository.spentInMonth(userId, month, categoryId);
+            overall = spent.getOverall();
+
+            // Uncategorised spending (bucket 0) only counts towards the overall budget
+            if (limits.getCategoryBudget() != null && categoryId != RollupService.bucket(null)) {
+                check(userId, month, categoryId, limits.getCategoryBudget(),
+                        thresholds(limits.getCategoryAlertThresholds()), spent.getCategory(), delta);
+            }
+        }
+
+        if (limits != null && net > 0) {
+            check(userId, month, BudgetAlert.OVERALL, limits.getTotalBudget(),
+                    thresholds(limits.getAlertThresholds()), overall, net);
+        }
+    }
+
+    private void check(
+            Long userId,
+            String month,
+            long categoryId,
+            Long budget,
+            List<Integer> thresholds,
+            Long after,
+            long delta
+    ) {
+        if (budget == null || budget <= 0 || after == null) {
+            return;
+        }
+
+        long before = after - delta;
+
+        for (int threshold : thresholds) {
+            // spent * 100 >= threshold * budget, kept in integers
+            long line = budget * threshold;
+            if (before * 100 < line && after * 100 >= line) {
+                alertRepository.insertIfAbsent(
+                        userId, month, categoryId, threshold, after, budget, LocalDateTime.now()
+                );
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetAlertResponse> getUnread(Long userId) {
+        return alertRepository
+                .findByUserIdAndReadAtIsNullOrderByIdDesc(userId, Limit.of(maxUnread))
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    // upTo = newest alert the client has shown; null marks every unread alert
+    @Transactional
+    public int markRead(Long userId, Long upTo) {
+        int marked = alertRepository.markRead(
+                userId, upTo == null ? Long.MAX_VALUE : upTo, LocalDateTime.now()
+        );
+
+        if (marked > 0) {
+            dataVersions.bump(userId);
+        }
+        return marked;
+    }
+
+    List<Integer> thresholds(String stored) {
+        if (stored == null || stored.isBlank()) {
+            return defaultThresholds;
+        }
+        return Arrays.stream(stored.split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    // null keeps the defaults; otherwise distinct percentages, ascending
+    static String formatThresholds(List<Integer> thresholds) {
+        if (thresholds == null) {
+            return null;
+        }
+
+        for (Integer t : thresholds) {
+            if (t == null || t < 1 || t > 1000) {
+                throw new RuntimeException("Alert thresholds must be percentages between 1 and 1000");
+            }
+        }
+
+        return thresholds.stream()
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .reduce((a, b) -> a + "," + b)
+                .orElse("");
+    }
+
+    private BudgetAlertResponse toResponse(BudgetAlert a) {
+        return BudgetAlertResponse.builder()
+                .id(a.getId())
+                .month(a.getMonth())
+                .category(a.getCategoryId() == BudgetAlert.OVERALL
+                        ? null
+                        : categoryDictionary.name(a.getCategoryId()))
+                .threshold(a.getThreshold())
+                .spent(a.getSpent())
+                .budget(a.getBudget())
+                .createdAt(a.getCreatedAt())
+                .build();
+    }
+}
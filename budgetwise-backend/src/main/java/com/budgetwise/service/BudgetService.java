@@ -3,131 +3,231 @@ package com.budgetwise.service;
 import com.budgetwise.dto.*;
 import com.budgetwise.model.*;
 import com.budgetwise.repository.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("budgetwise.service")
 @RequiredArgsConstructor
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final ExpenseRepository expenseRepository;
+    private final MonthlyCategoryTotalRepository rollupRepository;
     private final UserRepository userRepository;
+    private final BudgetSummaryCache summaryCache;
+    private final UserDataVersions dataVersions;
+    private final CategoryDictionary categoryDictionary;
+    private final ChangeFeed changeFeed;
 
-    @Transactional
-    public void saveBudget(String email, BudgetRequest request) {
+    @Value("${budgetwise.budget.max-range-months:36}")
+    private int maxRangeMonths;
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional
+    public void saveBudget(Long userId, BudgetRequest request) {
 
         Budget budget = budgetRepository
-                .findByUserEmailAndMonth(email, request.getMonth())
+                .findByUserIdAndMonth(userId, request.getMonth())
                 .orElse(new Budget());
 
-        budget.setUser(user);
+        budget.setUser(userRepository.getReferenceById(userId));
         budget.setMonth(request.getMonth());
         budget.setTotalBudget(request.getTotalBudget());
+        budget.setAlertThresholds(BudgetAlertService.formatThresholds(request.getAlertThresholds()));
 
         budget.getCategoryBudgets().clear();
 
         request.getCategories().forEach(dto -> {
             CategoryBudget cb = new CategoryBudget();
-            cb.setCategory(dto.getCategory());
+            cb.setCategoryId(categoryDictionary.idFor(userId, dto.getCategory()));
             cb.setAmount(dto.getAmount());
+            cb.setAlertThresholds(BudgetAlertService.formatThresholds(dto.getAlertThresholds()));
             cb.setBudget(budget);
             budget.getCategoryBudgets().add(cb);
         });
 
         budgetRepository.save(budget);
+        invalidateCarriedForward(userId, request.getMonth(), ChangeEvent.Action.UPDATED);
     }
 
-    public void deleteBudget(String email, String month) {
+    @Transactional
+    public void deleteBudget(Long userId, String month) {
         Budget budget = budgetRepository
-                .findByUserEmailAndMonth(email, month)
+                .findByUserIdAndMonth(userId, month)
                 .orElseThrow(() -> new RuntimeException("Budget not found"));
 
         budgetRepository.delete(budget);
+        invalidateCarriedForward(userId, month, ChangeEvent.Action.DELETED);
+    }
+
+    // Later months without their own budget fall back to this one, so clients
+    // showing `month` or a later month refetch their summary
+    private void invalidateCarriedForward(Long userId, String month, ChangeEvent.Action action) {
+        String nextBudgetMonth = budgetRepository
+                .findFirstByUserIdAndMonthGreaterThanOrderByMonthAsc(userId, month)
+                .map(Budget::getMonth)
+                .orElse(null);
+
+        summaryCache.invalidateFrom(userId, month, nextBudgetMonth);
+        dataVersions.bump(userId);
+        changeFeed.publish(userId, ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.BUDGET)
+                .action(action)
+                .month(month)
+                .build());
     }
 
-    public BudgetResponse getBudgetSummary(String email, String month) {
+    @Transactional(readOnly = true)
+    public BudgetResponse getBudgetSummary(Long userId, String month) {
+        return summaryCache.get(userId, month, () -> computeBudgetSummary(userId, month));
+    }
+
+    private BudgetResponse computeBudgetSummary(Long userId, String month) {
 
         Budget budget = budgetRepository
-                .findByUserEmailAndMonth(email, month)
+                .findByUserIdAndMonth(userId, month)
                 .orElseGet(() ->
                         budgetRepository
-                                .findFirstByUserEmailAndMonthLessThanOrderByMonthDesc(
-                                        email, month
+                                .findFirstByUserIdAndMonthLessThanOrderByMonthDesc(
+                                        userId, month
                                 )
                                 .orElseThrow(() ->
                                         new RuntimeException("No previous budget found")
                                 )
                 );
 
-        String[] parts = month.split("-");
-        int year = Integer.parseInt(parts[0]);
-        int monthValue = Integer.parseInt(parts[1]);
-
-        LocalDate start = LocalDate.of(year, monthValue, 1);
-        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
-
         // 🔒 CRITICAL FIX: ONLY EXPENSE transactions
-        List<Expense> expenses =
-        expenseRepository.findByUserEmailAndDateBetweenAndType(
-        email,
-        start,
-        end,
-        TransactionType.EXPENSE
-        );
-
-
-        double totalSpent = expenses.stream()
-                .mapToDouble(Expense::getAmount)
-                .sum();
-
-        Map<String, Double> spentByCategory =
-                expenses.stream().collect(
-                        Collectors.groupingBy(
-                                Expense::getCategory,
-                                Collectors.summingDouble(Expense::getAmount)
+        // Served from the monthly rollup — one row per category, not per transaction
+        List<MonthlyCategoryTotal> rollups =
+                rollupRepository.findByUserIdAndMonthAndType(
+                        userId,
+                        month,
+                        TransactionType.EXPENSE
+                );
+
+        Map<Long, Long> spentByCategory =
+                rollups.stream().collect(
+                        Collectors.toMap(
+                                MonthlyCategoryTotal::getCategoryId,
+                                MonthlyCategoryTotal::getTotal
                         )
                 );
 
-        List<BudgetResponse.Category> categories =
-                budget.getCategoryBudgets().stream().map(cb -> {
-                    double spent = spentByCategory.getOrDefault(cb.getCategory(), 0.0);
-                    double percent = cb.getAmount() == 0
-                            ? 0
-                            : (spent / cb.getAmount()) * 100;
+        return summarize(month, budget, spentByCategory);
+    }
+
+    // Every month in [from, to] with the budget in effect for it (own or carried
+    // forward), spending from one grouped rollup query, plus range totals
+    @Transactional(readOnly = true)
+    public BudgetRangeResponse getBudgetRange(Long userId, String from, String to) {
+
+        YearMonth start = parseMonth(from);
+        YearMonth end = parseMonth(to);
+
+        if (end.isBefore(start)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        if (start.until(end, ChronoUnit.MONTHS) >= maxRangeMonths) {
+            throw new RuntimeException("Range is limited to " + maxRangeMonths + " months");
+        }
+
+        NavigableMap<String, Budget> budgets = new TreeMap<>();
+        budgetRepository
+                .findFirstByUserIdAndMonthLessThanOrderByMonthDesc(userId, start.toString())
+                .ifPresent(b -> budgets.put(b.getMonth(), b));
+        budgetRepository
+                .findByUserIdAndMonthBetweenOrderByMonth(userId, start.toString(), end.toString())
+                .forEach(b -> budgets.put(b.getMonth(), b));
+
+        Map<String, Map<Long, Long>> spent = new HashMap<>();
+        rollupRepository
+                .sumByMonthAndCategory(userId, TransactionType.EXPENSE, start.toString(), end.toString())
+                .forEach(t -> spent
+                        .computeIfAbsent(t.getMonth(), m -> new HashMap<>())
+                        .put(RollupService.bucket(t.getCategoryId()), t.getTotal()));
+
+        List<BudgetResponse> months = new ArrayList<>();
+        long totalBudget = 0;
+        long totalSpent = 0;
+
+        for (YearMonth ym = start; !ym.isAfter(end); ym = ym.plusMonths(1)) {
+            String month = ym.toString();
+            Map.Entry<String, Budget> effective = budgets.floorEntry(month);
+
+            BudgetResponse summary = summarize(
+                    month,
+                    effective == null ? null : effective.getValue(),
+                    spent.getOrDefault(month, Map.of())
+            );
+
+            months.add(summary);
+            totalBudget += summary.getOverall().getBudget();
+            totalSpent += summary.getOverall().getSpent();
+        }
+
+        return BudgetRangeResponse.builder()
+                .from(start.toString())
+                .to(end.toString())
+                .months(months)
+                .total(overall(totalBudget, totalSpent))
+                .build();
+    }
+
+    // A month before the first budget ever set reports spending against 0
+    private BudgetResponse summarize(
+            String month,
+            Budget budget,
+            Map<Long, Long> spentByCategory
+    ) {
+        long totalSpent = 0;
+        for (long categorySpent : spentByCategory.values()) {
+            totalSpent += categorySpent;
+        }
+
+        List<BudgetResponse.Category> categories = budget == null
+                ? List.of()
+                : budget.getCategoryBudgets().stream().map(cb -> {
+                    long spent = spentByCategory.getOrDefault(
+                            RollupService.bucket(cb.getCategoryId()), 0L
+                    );
 
                     return BudgetResponse.Category.builder()
-                            .category(cb.getCategory())
+                            .category(categoryDictionary.name(cb.getCategoryId()))
                             .budget(cb.getAmount())
                             .spent(spent)
-                            .percentage(percent)
+                            .percentage(Money.percent(spent, cb.getAmount()))
                             .build();
                 }).toList();
 
-        double overallPercent = budget.getTotalBudget() == 0
-                ? 0
-                : (totalSpent / budget.getTotalBudget()) * 100;
-
         return BudgetResponse.builder()
                 .month(month)
-                .overall(
-                        BudgetResponse.Overall.builder()
-                                .budget(budget.getTotalBudget())
-                                .spent(totalSpent)
-                                .remaining(budget.getTotalBudget() - totalSpent)
-                                .percentage(overallPercent)
-                                .build()
-                )
+                .overall(overall(budget == null ? 0 : budget.getTotalBudget(), totalSpent))
                 .categories(categories)
                 .build();
     }
-}
 
+    private BudgetResponse.Overall overall(long budget, long spent) {
+        return BudgetResponse.Overall.builder()
+                .budget(budget)
+                .spent(spent)
+                .remaining(budget - spent)
+                .percentage(Money.percent(spent, budget))
+                .build();
+    }
+
+    private YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new RuntimeException("Invalid month, expected YYYY-MM: " + month);
+        }
+    }
+}
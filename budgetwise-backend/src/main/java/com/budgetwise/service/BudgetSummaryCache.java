@@ -0,0 +1,205 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.BudgetResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of computed budget summaries, keyed by (user, month).
+ *
+ * Entries expire after the TTL and are dropped when a write touches their
+ * month. Invalidation is applied again after commit, and each user has an
+ * epoch, so a read that overlapped the write cannot put a stale summary
+ * back into the cache. Epochs are kept for as many users as the cache
+ * holds entries; forgetting one counts as a clear, so in-flight reads of
+ * every user skip storing once.
+ */
+@Component
+public class BudgetSummaryCache {
+
+    private record Key(Long userId, String month) {
+    }
+
+    private record Entry(BudgetResponse summary, long expiresAt) {
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped on every invalidation; a compute only stores if it is unchanged
+    private final LinkedHashMap<Long, Long> epochs = new LinkedHashMap<>(16, 0.75f, true);
+    private long clears;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public BudgetSummaryCache(
+            @Value("${budgetwise.budget.cache.max-size:10000}") int maxSize,
+            @Value("${budgetwise.budget.cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry registry
+    ) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+
+        FunctionCounter.builder("budgetwise.budget.cache.hits", hits, LongAdder::sum)
+                .description("Budget summaries served from the cache")
+                .register(registry);
+        FunctionCounter.builder("budgetwise.budget.cache.misses", misses, LongAdder::sum)
+                .description("Budget summaries that had to be computed")
+                .register(registry);
+        FunctionCounter.builder("budgetwise.budget.cache.evictions", evictions, LongAdder::sum)
+                .description("Entries dropped because they expired or the cache was full")
+                .register(registry);
+        FunctionCounter.builder("budgetwise.budget.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Entries dropped because a write touched their month")
+                .register(registry);
+        Gauge.builder("budgetwise.budget.cache.size", this, BudgetSummaryCache::size)
+                .register(registry);
+        Gauge.builder("budgetwise.budget.cache.hit.ratio", this, BudgetSummaryCache::hitRatio)
+                .register(registry);
+    }
+
+    public BudgetResponse get(Long userId, String month, Supplier<BudgetResponse> compute) {
+        Key key = new Key(userId, month);
+        long epoch;
+        long cleared;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                hits.increment();
+                return entry.summary();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+
+            misses.increment();
+            epoch = epochs.getOrDefault(userId, 0L);
+            cleared = clears;
+        }
+
+        BudgetResponse summary = compute.get();
+
+        synchronized (this) {
+            if (epochs.getOrDefault(userId, 0L) == epoch && clears == cleared) {
+                entries.put(key, new Entry(summary, System.currentTimeMillis() + ttlMillis));
+
+                if (entries.size() > maxSize) {
+                    // Access order: the first entry is the least recently used
+                    Iterator<Key> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.increment();
+                }
+            }
+        }
+
+        return summary;
+    }
+
+    // Expense writes: only the month the transaction landed in
+    public void invalidateMonth(Long userId, String month) {
+        afterCommitToo(() -> drop(userId, month));
+    }
+
+    /**
+     * Budget writes: the month itself plus the later months that fall back to
+     * it, up to (excluding) untilMonth; null means every later month.
+     */
+    public void invalidateFrom(Long userId, String fromMonth, String untilMonth) {
+        afterCommitToo(() -> dropRange(userId, fromMonth, untilMonth));
+    }
+
+    // Category renames: every month of one user
+    public void invalidateUser(Long userId) {
+        afterCommitToo(() -> dropRange(userId, "", null));
+    }
+
+    // Rollup rebuilds touch every user
+    public void invalidateAll() {
+        afterCommitToo(this::dropAll);
+    }
+
+    private void afterCommitToo(Runnable drop) {
+        drop.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop.run();
+                }
+            });
+        }
+    }
+
+    private synchronized void drop(Long userId, String month) {
+        bumpEpoch(userId);
+
+        if (entries.remove(new Key(userId, month)) != null) {
+            invalidations.increment();
+        }
+    }
+
+    private synchronized void dropRange(Long userId, String fromMonth, String untilMonth) {
+        bumpEpoch(userId);
+
+        // YYYY-MM strings order the same way as the months they name
+        entries.keySet().removeIf(k -> {
+            boolean match = k.userId().equals(userId)
+                    && k.month().compareTo(fromMonth) >= 0
+                    && (untilMonth == null || k.month().compareTo(untilMonth) < 0);
+            if (match) {
+                invalidations.increment();
+            }
+            return match;
+        });
+    }
+
+    private synchronized void dropAll() {
+        clears++;
+        invalidations.add(entries.size());
+        entries.clear();
+        epochs.clear();
+    }
+
+    // Caller holds the lock
+    private void bumpEpoch(Long userId) {
+        epochs.merge(userId, 1L, Long::sum);
+
+        if (epochs.size() > maxSize) {
+            // A forgotten epoch reads as 0 again, which an older compute could match
+            Iterator<Long> eldest = epochs.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            clears++;
+        }
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        double h = hits.sum();
+        double total = h + misses.sum();
+        return total == 0 ? 0 : h / total;
+    }
+}
@@ -0,0 +1,197 @@
+package com.budgetwise.service;
+
+import com.budgetwise.model.Category;
+import com.budgetwise.repository.CategoryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory id ↔ name cache over the categories table, so the API keeps
+ * speaking names while rows, group-bys and indexes use integer ids.
+ *
+ * Lookups are only cached once their transaction has committed, so a
+ * category created by a write that rolls back never becomes visible; a
+ * unit rolled back inside a write group has its hooks dropped with it (see
+ * GroupCommitWriter). Names are unique per user in the schema, so two
+ * first uses of a name resolve to the same row. Both maps are bounded LRUs.
+ */
+@Component
+public class CategoryDictionary {
+
+    private record Key(Long userId, String name) {
+    }
+
+    private final CategoryRepository categoryRepository;
+
+    private final LinkedHashMap<Key, Long> ids = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, String> names = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped on every rename; a lookup only stores if it is unchanged
+    private long renames;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final int maxSize;
+
+    public CategoryDictionary(
+            CategoryRepository categoryRepository,
+            @Value("${budgetwise.categories.cache.max-size:50000}") int maxSize,
+            MeterRegistry registry
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.maxSize = maxSize;
+
+        FunctionCounter.builder("budgetwise.categories.cache.hits", hits, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("budgetwise.categories.cache.misses", misses, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("budgetwise.categories.cache.size", this, CategoryDictionary::size)
+                .register(registry);
+    }
+
+    /**
+     * Id of the user's category with this name, created in the caller's
+     * transaction if it does not exist yet; null for a blank name.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long idFor(Long userId, String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+
+        Long id = find(userId, name);
+        if (id != null) {
+            return id;
+        }
+
+        categoryRepository.insertIfAbsent(userId, name);
+        return load(userId, name).orElseThrow();
+    }
+
+    // Existing id only; null when the user has no such category
+    public Long find(Long userId, String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+
+        synchronized (this) {
+            Long id = ids.get(new Key(userId, name));
+            if (id != null) {
+                hits.increment();
+                return id;
+            }
+        }
+
+        misses.increment();
+        return load(userId, name).orElse(null);
+    }
+
+    public String name(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        long seen;
+        synchronized (this) {
+            String name = names.get(id);
+            if (name != null) {
+                hits.increment();
+                return name;
+            }
+            seen = renames;
+        }
+
+        misses.increment();
+        Category category = categoryRepository.findById(id).orElse(null);
+        if (category == null) {
+            return null;
+        }
+
+        remember(category, seen);
+        return category.getName();
+    }
+
+    // Called in the renaming transaction
+    public void renamed(Long userId, Long id, String oldName) {
+        Runnable drop = () -> {
+            synchronized (this) {
+                renames++;
+                ids.remove(new Key(userId, oldName));
+                names.remove(id);
+            }
+        };
+
+        drop.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop.run();
+                }
+            });
+        }
+    }
+
+    private Optional<Long> load(Long userId, String name) {
+        long seen;
+        synchronized (this) {
+            seen = renames;
+        }
+
+        Optional<Category> category = categoryRepository.findByUserIdAndName(userId, name);
+        category.ifPresent(c -> remember(c, seen));
+        return category.map(Category::getId);
+    }
+
+    private void remember(Category category, long seen) {
+        Runnable store = () -> store(category, seen);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store.run();
+                }
+            });
+        } else {
+            store.run();
+        }
+    }
+
+    private synchronized void store(Category category, long seen) {
+        if (renames != seen) {
+            return;
+        }
+
+        ids.put(new Key(category.getUserId(), category.getName()), category.getId());
+        names.put(category.getId(), category.getName());
+
+        trim(ids.keySet().iterator(), ids.size());
+        trim(names.keySet().iterator(), names.size());
+    }
+
+    // Access order: the first entries are the least recently used
+    private void trim(Iterator<?> eldest, int size) {
+        for (int i = size; i > maxSize; i--) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private synchronized int size() {
+        return names.size();
+    }
+}
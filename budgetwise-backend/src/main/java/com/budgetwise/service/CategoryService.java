@@ -0,0 +1,65 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.CategoryResponse;
+import com.budgetwise.model.Category;
+import com.budgetwise.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Timed("budgetwise.service")
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final BudgetSummaryCache summaryCache;
+    private final UserDataVersions dataVersions;
+
+    @Transactional(readOnly = true)
+    public List<CategoryResponse> getCategories(Long userId) {
+        return categoryRepository.findByUserIdOrderByName(userId)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    // Expenses and budgets hold the id, so this is the only row that changes
+    @Transactional
+    public CategoryResponse rename(Long userId, Long id, String name) {
+        if (name == null || name.isBlank()) {
+            throw new RuntimeException("Category name is required");
+        }
+
+        Category category = categoryRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+
+        String newName = name.trim();
+        if (newName.equals(category.getName())) {
+            return toResponse(category);
+        }
+        if (categoryRepository.findByUserIdAndName(userId, newName).isPresent()) {
+            throw new RuntimeException("Category already exists: " + newName);
+        }
+
+        String oldName = category.getName();
+        category.setName(newName);
+        categoryRepository.save(category);
+
+        categoryDictionary.renamed(userId, id, oldName);
+        summaryCache.invalidateUser(userId);
+        dataVersions.bump(userId);
+        return toResponse(category);
+    }
+
+    private CategoryResponse toResponse(Category c) {
+        return CategoryResponse.builder()
+                .id(c.getId())
+                .name(c.getName())
+                .build();
+    }
+}
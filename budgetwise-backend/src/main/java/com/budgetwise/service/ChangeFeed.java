@@ -0,0 +1,260 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.ChangeEvent;
+import com.budgetwise.exception.ChangeFeedFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user feed of committed changes, pushed to every open session of the
+ * user as server-sent events so clients can patch what they show instead of
+ * reloading it.
+ *
+ * Services publish next to their data version bump and delivery waits for
+ * the commit. Each connection has a bounded buffer drained by a small sender
+ * pool, so a slow client never holds up a write or another client. When a
+ * buffer overflows its pending events are replaced by one "resync" event,
+ * telling that client to refetch. Heartbeat comments keep idle streams open
+ * through proxies and find connections that went away.
+ */
+@Slf4j
+@Component
+public class ChangeFeed implements DisposableBean {
+
+    // Queued for one connection; SseEventBuilders are single-use, so built on send
+    private record Outgoing(String name, long id, Object data) {
+    }
+
+    private final Map<Long, Queue<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int maxPerUser;
+    private final int maxConnections;
+
+    private final Counter resyncs;
+
+    public ChangeFeed(
+            MeterRegistry registry,
+            @Value("${budgetwise.events.threads:2}") int threads,
+            @Value("${budgetwise.events.buffer-size:64}") int bufferSize,
+            @Value("${budgetwise.events.max-per-user:5}") int maxPerUser,
+            @Value("${budgetwise.events.max-connections:1000}") int maxConnections,
+            @Value("${budgetwise.events.timeout-ms:1800000}") long timeoutMs
+    ) {
+        this.bufferSize = bufferSize;
+        this.maxPerUser = maxPerUser;
+        this.maxConnections = maxConnections;
+        this.timeoutMs = timeoutMs;
+
+        // A connection has at most one drain queued, so the queue never fills
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConnections),
+                r -> {
+                    Thread t = new Thread(r, "change-feed-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.resyncs = Counter.builder("budgetwise.events.resyncs")
+                .description("Change feed buffers that overflowed and asked their client to refetch")
+                .register(registry);
+        Gauge.builder("budgetwise.events.connections", connections, AtomicInteger::get)
+                .description("Open change feed connections")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream for one session of {@code userId}. Beyond the per-user
+     * limit the user's oldest stream is closed; its client reconnects if
+     * it is still there.
+     */
+    public SseEmitter subscribe(Long userId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ChangeFeedFullException("Too many open change feeds, try again shortly");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriber.remove());
+
+        Queue<Subscriber> mine = subscribers.compute(userId, (id, q) -> {
+            Queue<Subscriber> sessions = q == null ? new ConcurrentLinkedQueue<>() : q;
+            sessions.add(subscriber);
+            return sessions;
+        });
+
+        int excess = mine.size() - maxPerUser;
+        for (Iterator<Subscriber> it = mine.iterator(); excess > 0 && it.hasNext(); excess--) {
+            it.next().close();
+        }
+
+        // Tells the client the stream is live; after a reconnect it refetches once
+        subscriber.offer(new Outgoing("ready", sequence.get(), ""));
+        return emitter;
+    }
+
+    // Delivered to every open session of the user once the transaction commits
+    public void publish(Long userId, ChangeEvent event) {
+        AfterCommit.run(() -> {
+            Queue<Subscriber> mine = subscribers.get(userId);
+            if (mine == null) {
+                return;
+            }
+
+            Outgoing outgoing = new Outgoing("change", sequence.incrementAndGet(), event);
+            mine.forEach(s -> s.offer(outgoing));
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${budgetwise.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(sessions -> sessions.forEach(Subscriber::heartbeat));
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, sessions) -> {
+            sessions.remove(subscriber);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        connections.decrementAndGet();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        subscribers.values().forEach(sessions -> sessions.forEach(Subscriber::close));
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outgoing> buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Outgoing outgoing) {
+            if (!buffer.offer(outgoing)) {
+                buffer.clear();
+                overflowed = true;
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (removed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!removed.get()) {
+                    if (overflowed) {
+                        overflowed = false;
+                        resyncs.increment();
+                        emitter.send(SseEmitter.event().name("resync").data(""));
+                        continue;
+                    }
+
+                    Outgoing next = buffer.poll();
+                    if (next != null) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(next.id()))
+                                .name(next.name())
+                                .data(next.data(), MediaType.APPLICATION_JSON));
+                        continue;
+                    }
+
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    break;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the stream already completed
+                log.debug("Change feed for user {} closed: {}", userId, e.getMessage());
+                remove();
+            } finally {
+                draining.set(false);
+            }
+
+            // Something offered after the last poll saw `draining` still set
+            if (!removed.get() && (overflowed || heartbeatDue || !buffer.isEmpty())) {
+                schedule();
+            }
+        }
+
+        void remove() {
+            if (removed.compareAndSet(false, true)) {
+                buffer.clear();
+                unregister(this);
+            }
+        }
+
+        void close() {
+            remove();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.budgetwise.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: quoted fields, escaped quotes ("")
+ * and line breaks inside quotes. Reads one record at a time.
+ */
+class CsvReader {
+
+    private final Reader in;
+    private int peeked = -2;
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @return the next record, or null at end of input
+     */
+    List<String> next() throws IOException {
+        if (peek() == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            int c = read();
+
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                break;
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        peeked = -2;
+        return c;
+    }
+}
@@ -0,0 +1,265 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.ChangeEvent;
+import com.budgetwise.dto.ExpenseBatchRequest;
+import com.budgetwise.dto.ExpenseBatchRequest.Op;
+import com.budgetwise.dto.ExpenseBatchRequest.Operation;
+import com.budgetwise.dto.ExpenseBatchResult;
+import com.budgetwise.dto.ExpenseBatchResult.OperationResult;
+import com.budgetwise.dto.ExpenseResponse;
+import com.budgetwise.dto.ExpenseRow;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.User;
+import com.budgetwise.repository.ExpenseRepository;
+import com.budgetwise.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a list of create, update and delete operations in one transaction.
+ *
+ * Ownership of every referenced id is checked with a single query. Valid
+ * operations are then written set-wise: one bulk delete, one JDBC batch of
+ * updates, the inserts, and one rollup pass that touches each bucket once.
+ * Invalid operations are reported in the result and skipped.
+ */
+@Service
+@Timed("budgetwise.service")
+@RequiredArgsConstructor
+public class ExpenseBatchService {
+
+    private static final String UPDATE_SQL = """
+            update expenses set title = ?, amount_minor = ?, category_id = ?, date = ?
+            where id = ? and user_id = ?
+            """;
+
+    private final ExpenseRepository expenseRepository;
+    private final UserRepository userRepository;
+    private final RollupService rollupService;
+    private final UserDataVersions dataVersions;
+    private final CategoryDictionary categoryDictionary;
+    private final ChangeFeed changeFeed;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${budgetwise.expenses.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Transactional
+    public ExpenseBatchResult apply(Long userId, ExpenseBatchRequest request) {
+        List<Operation> ops = request.getOperations() == null
+                ? List.of()
+                : request.getOperations();
+
+        if (ops.size() > maxBatchSize) {
+            throw new RuntimeException("A batch is limited to " + maxBatchSize + " operations");
+        }
+
+        Set<Long> ids = ops.stream()
+                .filter(op -> op != null && op.getOp() != Op.CREATE && op.getId() != null)
+                .map(Operation::getId)
+                .collect(Collectors.toSet());
+
+        Map<Long, ExpenseRow> owned = ids.isEmpty()
+                ? Map.of()
+                : expenseRepository.findOwned(userId, ids).stream()
+                        .collect(Collectors.toMap(ExpenseRow::getId, Function.identity()));
+
+        User user = userRepository.getReferenceById(userId);
+        Map<String, Long> categoryIds = new HashMap<>();
+        Set<Long> claimed = new HashSet<>();
+
+        List<Long> deletes = new ArrayList<>();
+        List<Expense> updates = new ArrayList<>();
+        List<Expense> creates = new ArrayList<>();
+        List<RollupService.Snapshot> removed = new ArrayList<>();
+        List<RollupService.Snapshot> added = new ArrayList<>();
+
+        // Filled in after the writes, when created rows have their ids
+        Map<Integer, Expense> written = new HashMap<>();
+        OperationResult[] results = new OperationResult[ops.size()];
+
+        for (int i = 0; i < ops.size(); i++) {
+            Operation op = ops.get(i);
+
+            String error = validate(op, owned, claimed);
+            if (error != null) {
+                results[i] = new OperationResult(
+                        i, op == null ? null : op.getOp(), op == null ? null : op.getId(), error, null
+                );
+                continue;
+            }
+
+            switch (op.getOp()) {
+                case DELETE -> {
+                    Expense expense = toExpense(owned.get(op.getId()), user);
+                    deletes.add(expense.getId());
+                    removed.add(rollupService.snapshot(expense));
+                    results[i] = new OperationResult(i, Op.DELETE, expense.getId(), null, null);
+                }
+                case UPDATE -> {
+                    Expense expense = toExpense(owned.get(op.getId()), user);
+                    removed.add(rollupService.snapshot(expense));
+
+                    // ❌ TYPE IS INTENTIONALLY NOT UPDATED
+                    if (op.getTitle() != null) {
+                        expense.setTitle(op.getTitle());
+                    }
+                    if (op.getAmount() != null) {
+                        expense.setAmount(op.getAmount());
+                    }
+                    if (op.getCategory() != null) {
+                        expense.setCategoryId(categoryId(categoryIds, userId, op.getCategory()));
+                    }
+                    if (op.getDate() != null) {
+                        expense.setDate(op.getDate());
+                    }
+
+                    updates.add(expense);
+                    added.add(rollupService.snapshot(expense));
+                    written.put(i, expense);
+                }
+                case CREATE -> {
+                    Expense expense = new Expense();
+                    expense.setTitle(op.getTitle().trim());
+                    expense.setAmount(op.getAmount());
+                    expense.setCategoryId(categoryId(categoryIds, userId, op.getCategory()));
+                    expense.setType(op.getType());
+                    expense.setDate(op.getDate());
+                    expense.setUser(user);
+
+                    creates.add(expense);
+                    written.put(i, expense);
+                }
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            expenseRepository.deleteOwned(userId, deletes);
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, e) -> {
+                ps.setString(1, e.getTitle());
+                ps.setLong(2, e.getAmount());
+                ps.setObject(3, e.getCategoryId());
+                // Same binding Hibernate uses for LocalDate, so stored values match
+                ps.setObject(4, e.getDate() == null ? null : Date.valueOf(e.getDate()));
+                ps.setLong(5, e.getId());
+                ps.setLong(6, userId);
+            });
+        }
+
+        // IDENTITY ids are needed in the results, so inserts go through JPA
+        if (!creates.isEmpty()) {
+            expenseRepository.saveAll(creates);
+            creates.forEach(e -> added.add(rollupService.snapshot(e)));
+        }
+
+        rollupService.changedAll(removed, added);
+
+        written.forEach((i, e) ->
+                results[i] = new OperationResult(i, ops.get(i).getOp(), e.getId(), null, toResponse(e))
+        );
+
+        ExpenseBatchResult result = new ExpenseBatchResult();
+        for (OperationResult r : results) {
+            result.getResults().add(r);
+            if (r.getError() == null) {
+                result.setApplied(result.getApplied() + 1);
+            } else {
+                result.setFailed(result.getFailed() + 1);
+            }
+        }
+
+        if (result.getApplied() > 0) {
+            dataVersions.bump(userId);
+            changeFeed.publish(userId, ChangeEvent.builder()
+                    .entity(ChangeEvent.Entity.EXPENSE)
+                    .action(ChangeEvent.Action.CHANGED)
+                    .build());
+        }
+        return result;
+    }
+
+    private static String validate(Operation op, Map<Long, ExpenseRow> owned, Set<Long> claimed) {
+        if (op == null || op.getOp() == null) {
+            return "op must be CREATE, UPDATE or DELETE";
+        }
+
+        if (op.getAmount() != null && op.getAmount() <= 0) {
+            return "amount must be a positive number";
+        }
+
+        if (op.getOp() == Op.CREATE) {
+            if (op.getTitle() == null || op.getTitle().isBlank()) {
+                return "title is required";
+            }
+            if (op.getAmount() == null) {
+                return "amount is required";
+            }
+            if (op.getType() == null) {
+                return "Transaction type is required";
+            }
+            if (op.getDate() == null) {
+                return "date is required";
+            }
+            return null;
+        }
+
+        if (op.getId() == null) {
+            return "id is required";
+        }
+        if (!owned.containsKey(op.getId())) {
+            return "Expense not found";
+        }
+        if (!claimed.add(op.getId())) {
+            return "Expense already changed by an earlier operation in this batch";
+        }
+        return null;
+    }
+
+    // Each distinct name is resolved (or created) once per batch; blank clears the category
+    private Long categoryId(Map<String, Long> categoryIds, Long userId, String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return categoryIds.computeIfAbsent(name, n -> categoryDictionary.idFor(userId, n));
+    }
+
+    private static Expense toExpense(ExpenseRow row, User user) {
+        Expense e = new Expense();
+        e.setId(row.getId());
+        e.setTitle(row.getTitle());
+        e.setAmount(row.getAmount());
+        e.setCategoryId(row.getCategoryId());
+        e.setType(row.getType());
+        e.setDate(row.getDate());
+        e.setUser(user);
+        return e;
+    }
+
+    private ExpenseResponse toResponse(Expense e) {
+        ExpenseResponse dto = new ExpenseResponse();
+        dto.setId(e.getId());
+        dto.setTitle(e.getTitle());
+        dto.setAmount(e.getAmount());
+        dto.setCategory(categoryDictionary.name(e.getCategoryId()));
+        dto.setType(e.getType().name());
+        dto.setDate(e.getDate());
+        return dto;
+    }
+}
@@ -0,0 +1,204 @@
+package com.budgetwise.service;
+
+import com.budgetwise.model.Money;
+import com.budgetwise.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams a user's transactions straight from a forward-only JDBC cursor
+ * to the response. Rows are never hydrated into entities or collected,
+ * so heap use is flat regardless of history size.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseExportService {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format of(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Read-only so that in WAL mode a long download holds a reader, not the writer
+    @Transactional(readOnly = true)
+    public void export(
+            Long userId,
+            Format format,
+            LocalDate from,
+            LocalDate to,
+            TransactionType type,
+            OutputStream out
+    ) throws IOException {
+
+        StringBuilder sql = new StringBuilder("""
+                select e.id, e.date, e.title, e.type, c.name as category, e.amount_minor
+                from expenses e
+                left join categories c on c.id = e.category_id
+                where e.user_id = ?
+                """);
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+
+        // Dates are bound exactly as Hibernate binds LocalDate so comparisons line up
+        if (from != null) {
+            sql.append(" and e.date >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and e.date <= ?");
+            args.add(Date.valueOf(to));
+        }
+        if (type != null) {
+            sql.append(" and e.type = ?");
+            args.add(type.name());
+        }
+        sql.append(" order by e.date, e.id");
+
+        RowWriter writer = format == Format.CSV
+                ? new CsvRowWriter(out)
+                : new NdjsonRowWriter(out);
+
+        try {
+            jdbcTemplate.query(
+                    con -> {
+                        PreparedStatement ps = con.prepareStatement(
+                                sql.toString(),
+                                ResultSet.TYPE_FORWARD_ONLY,
+                                ResultSet.CONCUR_READ_ONLY
+                        );
+                        ps.setFetchSize(FETCH_SIZE);
+                        for (int i = 0; i < args.size(); i++) {
+                            ps.setObject(i + 1, args.get(i));
+                        }
+                        return ps;
+                    },
+                    rs -> {
+                        try {
+                            writer.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();   // client went away mid-download
+        }
+
+        writer.finish();
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer w;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // Header names match what the bulk import accepts, so exports round-trip
+            w.write("id,date,title,type,category,amount\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            w.write(Long.toString(rs.getLong("id")));
+            w.write(',');
+            w.write(String.valueOf(localDate(rs)));
+            w.write(',');
+            w.write(escape(rs.getString("title")));
+            w.write(',');
+            w.write(escape(rs.getString("type")));
+            w.write(',');
+            w.write(escape(rs.getString("category")));
+            w.write(',');
+            w.write(Money.format(rs.getLong("amount_minor")));
+            w.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            w.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator gen;
+
+        NdjsonRowWriter(OutputStream out) {
+            this.gen = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .createGenerator(out);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException {
+            gen.writeStartObject();
+            gen.writeNumberProperty("id", rs.getLong("id"));
+            gen.writeStringProperty("date", String.valueOf(localDate(rs)));
+            gen.writeStringProperty("title", rs.getString("title"));
+            gen.writeStringProperty("type", rs.getString("type"));
+            gen.writeStringProperty("category", rs.getString("category"));
+            gen.writeNumberProperty("amount", Money.toDecimal(rs.getLong("amount_minor")));
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void finish() {
+            gen.writeRaw('\n');
+            gen.flush();
+        }
+    }
+
+    private static LocalDate localDate(ResultSet rs) throws SQLException {
+        Date date = rs.getDate("date");
+        return date == null ? null : date.toLocalDate();
+    }
+}
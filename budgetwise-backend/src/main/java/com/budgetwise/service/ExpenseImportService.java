@@ -0,0 +1,351 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.ChangeEvent;
+import com.budgetwise.dto.ImportResult;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.Money;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.model.User;
+import com.budgetwise.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams a CSV or JSON (array or NDJSON) upload row by row, validates each
+ * row and writes valid ones in JDBC batches, one transaction per chunk.
+ *
+ * Expense ids are IDENTITY, which disables Hibernate's insert batching,
+ * so chunks are written with JdbcTemplate directly.
+ */
+@Service
+public class ExpenseImportService {
+
+    private static final String INSERT_SQL = """
+            insert into expenses (title, amount_minor, category_id, type, date, user_id)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final List<String> COLUMNS =
+            List.of("title", "amount", "category", "type", "date");
+
+    // One parsed-but-unvalidated row, fields as raw text
+    private record RawRow(long row, Map<String, String> fields) {
+    }
+
+    private final UserRepository userRepository;
+    private final RollupService rollupService;
+    private final UserDataVersions dataVersions;
+    private final CategoryDictionary categoryDictionary;
+    private final ChangeFeed changeFeed;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+
+    private final int chunkSize;
+    private final int maxRows;
+    private final int maxErrors;
+
+    public ExpenseImportService(
+            UserRepository userRepository,
+            RollupService rollupService,
+            UserDataVersions dataVersions,
+            CategoryDictionary categoryDictionary,
+            ChangeFeed changeFeed,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,   // queues on the SQLite writer in prod
+            ObjectMapper objectMapper,
+            @Value("${budgetwise.import.chunk-size:1000}") int chunkSize,
+            @Value("${budgetwise.import.max-rows:200000}") int maxRows,
+            @Value("${budgetwise.import.max-errors:1000}") int maxErrors
+    ) {
+        this.userRepository = userRepository;
+        this.rollupService = rollupService;
+        this.dataVersions = dataVersions;
+        this.categoryDictionary = categoryDictionary;
+        this.changeFeed = changeFeed;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        // Rows are read one tree at a time from a shared parser, so more input must follow
+        this.rowReader = objectMapper.readerFor(JsonNode.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportResult importCsv(Long userId, InputStream body) throws IOException {
+        CsvReader csv = new CsvReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))
+        );
+
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new RuntimeException("CSV is empty");
+        }
+
+        List<String> names = header.stream()
+                .map(h -> h.trim().toLowerCase(Locale.ROOT))
+                .toList();
+
+        if (!names.containsAll(List.of("title", "amount", "type", "date"))) {
+            throw new RuntimeException("CSV header must contain title, amount, type and date");
+        }
+
+        Batch batch = new Batch(userId);
+        long row = 0;
+        List<String> record;
+
+        try {
+            while ((record = csv.next()) != null) {
+                row++;
+
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;   // blank line
+                }
+
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < names.size() && i < record.size(); i++) {
+                    fields.put(names.get(i), record.get(i));
+                }
+
+                if (!batch.accept(new RawRow(row, fields))) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            batch.fail(row + 1, "Malformed CSV, import stopped: " + e.getMessage());
+        }
+
+        return batch.finish();
+    }
+
+    public ImportResult importJson(Long userId, InputStream body) {
+        Batch batch = new Batch(userId);
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken first = parser.nextToken();
+            boolean array = first == JsonToken.START_ARRAY;
+
+            if (array) {
+                parser.nextToken();
+            }
+
+            long row = 0;
+
+            // Array elements or NDJSON/concatenated objects, one tree per row
+            while (parser.currentToken() != null
+                    && parser.currentToken() != JsonToken.END_ARRAY) {
+
+                row++;
+                JsonNode node = rowReader.readValue(parser);
+
+                if (!batch.accept(new RawRow(row, toFields(node)))) {
+                    break;
+                }
+
+                parser.nextToken();
+            }
+        } catch (JacksonException e) {
+            batch.fail(-1, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+        }
+
+        return batch.finish();
+    }
+
+    private Map<String, String> toFields(JsonNode node) {
+        Map<String, String> fields = new HashMap<>();
+
+        if (node != null && node.isObject()) {
+            for (String column : COLUMNS) {
+                JsonNode value = node.get(column);
+                if (value != null && !value.isNull()) {
+                    fields.put(column, value.asString());
+                }
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * Accumulates validated rows and flushes a chunk whenever it is full.
+     */
+    private class Batch {
+
+        // Reference only: the rows carry it for rollup keys, nothing reads the user
+        private final User user;
+        private final ImportResult result = new ImportResult();
+        private final List<Expense> chunk = new ArrayList<>(chunkSize);
+        private final List<Long> chunkRows = new ArrayList<>(chunkSize);
+        private long seen;
+
+        Batch(Long userId) {
+            this.user = userRepository.getReferenceById(userId);
+        }
+
+        // Returns false once the row limit is reached
+        boolean accept(RawRow raw) {
+            if (++seen > maxRows) {
+                fail(raw.row(), "Row limit of " + maxRows + " reached, remaining rows skipped");
+                return false;
+            }
+
+            String error = validate(raw.fields());
+            if (error != null) {
+                fail(raw.row(), error);
+                return true;
+            }
+
+            chunk.add(toExpense(raw.fields()));
+            chunkRows.add(raw.row());
+
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+            return true;
+        }
+
+        void fail(long row, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < maxErrors) {
+                result.getErrors().add(new ImportResult.RowError(row, message));
+            }
+        }
+
+        ImportResult finish() {
+            flush();
+
+            // Chunks are committed by now; one event for the whole import
+            if (result.getImported() > 0) {
+                changeFeed.publish(user.getId(), ChangeEvent.builder()
+                        .entity(ChangeEvent.Entity.EXPENSE)
+                        .action(ChangeEvent.Action.CHANGED)
+                        .build());
+            }
+            return result;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Each distinct name is resolved (or created) once per chunk
+                    Map<String, Long> ids = new HashMap<>();
+                    for (Expense e : chunk) {
+                        if (e.getCategory() != null) {
+                            e.setCategoryId(ids.computeIfAbsent(
+                                    e.getCategory(), name -> categoryDictionary.idFor(user.getId(), name)
+                            ));
+                        }
+                    }
+
+                    jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, e) -> {
+                        ps.setString(1, e.getTitle());
+                        ps.setLong(2, e.getAmount());
+                        ps.setObject(3, e.getCategoryId());
+                        ps.setString(4, e.getType().name());
+                        // Same binding Hibernate uses for LocalDate, so stored values match
+                        ps.setDate(5, Date.valueOf(e.getDate()));
+                        ps.setLong(6, user.getId());
+                    });
+
+                    rollupService.addedAll(chunk);
+                    dataVersions.bump(user.getId());
+                });
+
+                result.setImported(result.getImported() + chunk.size());
+            } catch (RuntimeException e) {
+                for (Long row : chunkRows) {
+                    fail(row, "Chunk write failed: " + e.getMessage());
+                }
+            }
+
+            chunk.clear();
+            chunkRows.clear();
+        }
+
+        private Expense toExpense(Map<String, String> f) {
+            Expense e = new Expense();
+            e.setTitle(f.get("title").trim());
+            e.setAmount(Money.parse(f.get("amount")));
+            e.setCategory(blankToNull(f.get("category")));
+            e.setType(TransactionType.valueOf(f.get("type").trim().toUpperCase(Locale.ROOT)));
+            e.setDate(LocalDate.parse(f.get("date").trim()));
+            e.setUser(user);
+            return e;
+        }
+    }
+
+    private static String validate(Map<String, String> f) {
+        if (isBlank(f.get("title"))) {
+            return "title is required";
+        }
+
+        if (isBlank(f.get("amount"))) {
+            return "amount is required";
+        }
+        try {
+            if (Money.parse(f.get("amount")) <= 0) {
+                return "amount must be a positive number";
+            }
+        } catch (RuntimeException e) {
+            return "amount is not a number: " + f.get("amount");
+        }
+
+        if (isBlank(f.get("type"))) {
+            return "Transaction type is required";
+        }
+        try {
+            TransactionType.valueOf(f.get("type").trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return "type must be INCOME or EXPENSE";
+        }
+
+        if (isBlank(f.get("date"))) {
+            return "date is required";
+        }
+        try {
+            LocalDate.parse(f.get("date").trim());
+        } catch (DateTimeParseException e) {
+            return "date must be YYYY-MM-DD: " + f.get("date");
+        }
+
+        return null;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    private static String blankToNull(String s) {
+        return isBlank(s) ? null : s.trim();
+    }
+}
@@ -1,80 +1,177 @@
 package com.budgetwise.service;
 
+import com.budgetwise.dto.ChangeEvent;
+import com.budgetwise.dto.ExpenseFilter;
+import com.budgetwise.dto.ExpensePage;
 import com.budgetwise.dto.ExpenseResponse;
 import com.budgetwise.model.Expense;
-import com.budgetwise.model.User;
 import com.budgetwise.repository.ExpenseRepository;
 import com.budgetwise.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
+@Timed("budgetwise.service")
 @RequiredArgsConstructor
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
+    private final RollupService rollupService;
+    private final UserDataVersions dataVersions;
+    private final CategoryDictionary categoryDictionary;
+    private final ChangeFeed changeFeed;
 
-    public Expense addExpense(Expense expense, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Value("${budgetwise.expenses.default-page-size:50}")
+    private int defaultPageSize;
 
+    @Value("${budgetwise.expenses.max-page-size:200}")
+    private int maxPageSize;
+
+    @Transactional
+    public Expense addExpense(Expense expense, Long userId) {
         if (expense.getType() == null) {
             throw new RuntimeException("Transaction type is required");
         }
 
-        expense.setUser(user);
-        return expenseRepository.save(expense);
-    }
+        expense.setUser(userRepository.getReferenceById(userId));
+        expense.setCategoryId(categoryDictionary.idFor(userId, expense.getCategory()));
+        Expense saved = expenseRepository.save(expense);
 
-    public List<ExpenseResponse> getExpenses(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow();
-
-        return expenseRepository.findByUserId(user.getId())
-                .stream()
-                .map(e -> {
-                    ExpenseResponse dto = new ExpenseResponse();
-                    dto.setId(e.getId());
-                    dto.setTitle(e.getTitle());
-                    dto.setAmount(e.getAmount());
-                    dto.setCategory(e.getCategory());
-                    dto.setType(e.getType().name());   // ✅ NEW
-                    dto.setDate(e.getDate());
-                    return dto;
-                })
-                .toList();
+        rollupService.added(saved);
+        dataVersions.bump(userId);
+        publish(userId, ChangeEvent.Action.CREATED, saved);
+        return saved;
     }
 
-    @Transactional
-    public void deleteExpense(Long id, String email) {
-        Expense expense = expenseRepository.findById(id)
-                .orElseThrow();
+    @Transactional(readOnly = true)
+    public ExpensePage getExpenses(Long userId, ExpenseFilter filter) {
+        int limit = filter.getLimit() == null
+                ? defaultPageSize
+                : Math.max(1, Math.min(filter.getLimit(), maxPageSize));
+
+        KeysetCursor.Key cursor = KeysetCursor.decode(filter.getCursor());
+
+        Long categoryId = null;
+        if (filter.getCategory() != null && !filter.getCategory().isBlank()) {
+            categoryId = categoryDictionary.find(userId, filter.getCategory());
 
-        if (!expense.getUser().getEmail().equals(email)) {
-            throw new RuntimeException("Unauthorized");
+            // A name the user never used matches nothing
+            if (categoryId == null) {
+                return ExpensePage.builder().items(List.of()).build();
+            }
         }
 
+        // One extra row tells us whether another page exists
+        List<Expense> rows = expenseRepository.findPage(
+                userId,
+                filter.getType(),
+                categoryId,
+                filter.getFrom(),
+                filter.getTo(),
+                cursor == null ? null : cursor.date(),   // null date: in the undated tail
+                cursor == null ? null : cursor.id(),
+                Limit.of(limit + 1)
+        );
+
+        // A dated cursor only reaches dated rows; once they run out the page
+        // goes on into the undated ones, which a date filter excludes anyway
+        if (cursor != null && cursor.date() != null && rows.size() <= limit
+                && filter.getFrom() == null && filter.getTo() == null) {
+            rows = new ArrayList<>(rows);
+            rows.addAll(expenseRepository.findPage(
+                    userId,
+                    filter.getType(),
+                    categoryId,
+                    null,
+                    null,
+                    null,
+                    Long.MAX_VALUE,
+                    Limit.of(limit + 1 - rows.size())
+            ));
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<Expense> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Expense last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getDate(), last.getId());
+        }
+
+        return ExpensePage.builder()
+                .items(page.stream().map(this::toResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private ExpenseResponse toResponse(Expense e) {
+        ExpenseResponse dto = new ExpenseResponse();
+        dto.setId(e.getId());
+        dto.setTitle(e.getTitle());
+        dto.setAmount(e.getAmount());
+        dto.setCategory(categoryDictionary.name(e.getCategoryId()));
+        dto.setType(e.getType().name());   // ✅ NEW
+        dto.setDate(e.getDate());
+        return dto;
+    }
+
+    @Transactional
+    public void deleteExpense(Long id, Long userId) {
+        Expense expense = expenseRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Expense not found"));
+
+        RollupService.Snapshot before = rollupService.snapshot(expense);
         expenseRepository.delete(expense);
+
+        rollupService.removed(before);
+        dataVersions.bump(userId);
+        changeFeed.publish(userId, ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.EXPENSE)
+                .action(ChangeEvent.Action.DELETED)
+                .id(id)
+                .month(before == null ? null : before.key().month())
+                .build());
     }
 
-    public Expense updateExpense(Long id, Expense updated, String email) {
-        Expense expense = expenseRepository.findById(id)
+    @Transactional
+    public Expense updateExpense(Long id, Expense updated, Long userId) {
+        Expense expense = expenseRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
 
-        if (!expense.getUser().getEmail().equals(email)) {
-            throw new RuntimeException("Unauthorized");
-        }
+        RollupService.Snapshot before = rollupService.snapshot(expense);
 
         // ❌ TYPE IS INTENTIONALLY NOT UPDATED
         expense.setTitle(updated.getTitle());
         expense.setAmount(updated.getAmount());
         expense.setCategory(updated.getCategory());
+        expense.setCategoryId(categoryDictionary.idFor(userId, updated.getCategory()));
         expense.setDate(updated.getDate());
 
-        return expenseRepository.save(expense);
+        Expense saved = expenseRepository.save(expense);
+
+        rollupService.updated(before, saved);
+        dataVersions.bump(userId);
+        publish(userId, ChangeEvent.Action.UPDATED, saved);
+        return saved;
+    }
+
+    private void publish(Long userId, ChangeEvent.Action action, Expense expense) {
+        changeFeed.publish(userId, ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.EXPENSE)
+                .action(action)
+                .id(expense.getId())
+                .month(expense.getDate() == null ? null : YearMonth.from(expense.getDate()).toString())
+                .data(toResponse(expense))
+                .build());
     }
 }
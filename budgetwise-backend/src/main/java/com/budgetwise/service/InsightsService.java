@@ -0,0 +1,113 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.CategoryTypeTotal;
+import com.budgetwise.dto.DailyTypeTotal;
+import com.budgetwise.dto.InsightsResponse;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.repository.ExpenseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class InsightsService {
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryDictionary categoryDictionary;
+
+    @Value("${budgetwise.insights.default-months:12}")
+    private int defaultMonths;
+
+    @Value("${budgetwise.insights.max-months:60}")
+    private int maxMonths;
+
+    @Transactional(readOnly = true)
+    public InsightsResponse getInsights(Long userId, String from, String to) {
+
+        YearMonth toMonth = to == null ? YearMonth.now() : parseMonth(to);
+        YearMonth fromMonth = from == null
+                ? toMonth.minusMonths(defaultMonths - 1L)
+                : parseMonth(from);
+
+        if (fromMonth.isAfter(toMonth)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+
+        if (ChronoUnit.MONTHS.between(fromMonth, toMonth) + 1 > maxMonths) {
+            throw new RuntimeException("Insights window cannot exceed " + maxMonths + " months");
+        }
+
+        LocalDate start = fromMonth.atDay(1);
+        LocalDate end = toMonth.atEndOfMonth();
+
+        // Fold per-day sums into month buckets (months without data are skipped,
+        // matching what the frontend used to derive from the raw list)
+        Map<YearMonth, long[]> byMonth = new TreeMap<>();
+        long totalIncome = 0;
+        long totalExpense = 0;
+
+        for (DailyTypeTotal row : expenseRepository.sumByDateAndType(userId, start, end)) {
+            long[] bucket = byMonth.computeIfAbsent(
+                    YearMonth.from(row.getDate()), m -> new long[2]
+            );
+
+            if (row.getType() == TransactionType.INCOME) {
+                bucket[0] += row.getTotal();
+                totalIncome += row.getTotal();
+            } else {
+                bucket[1] += row.getTotal();
+                totalExpense += row.getTotal();
+            }
+        }
+
+        List<InsightsResponse.Month> months = byMonth.entrySet().stream()
+                .map(e -> InsightsResponse.Month.builder()
+                        .month(e.getKey().toString())
+                        .income(e.getValue()[0])
+                        .expense(e.getValue()[1])
+                        .build())
+                .toList();
+
+        List<InsightsResponse.Category> categories =
+                expenseRepository.sumByCategoryAndType(userId, start, end)
+                        .stream()
+                        .map(this::toCategory)
+                        .toList();
+
+        return InsightsResponse.builder()
+                .from(fromMonth.toString())
+                .to(toMonth.toString())
+                .totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .months(months)
+                .categories(categories)
+                .build();
+    }
+
+    private InsightsResponse.Category toCategory(CategoryTypeTotal row) {
+        return InsightsResponse.Category.builder()
+                .category(categoryDictionary.name(row.getCategoryId()))
+                .type(row.getType().name())
+                .total(row.getTotal())
+                .count(row.getCount())
+                .build();
+    }
+
+    private YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid month: " + month + " (expected YYYY-MM)");
+        }
+    }
+}
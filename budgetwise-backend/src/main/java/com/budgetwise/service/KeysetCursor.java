@@ -0,0 +1,52 @@
+package com.budgetwise.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque page token for lists ordered by (date desc, id desc):
+ * base64url("yyyy-MM-dd:id") of the last row on the page. Undated rows
+ * sort after every dated one (SQLite puts NULLs last in a descending
+ * order) and are encoded as "null:id".
+ */
+final class KeysetCursor {
+
+    private static final String NO_DATE = "null";
+
+    // date is null once paging has reached the undated rows
+    record Key(LocalDate date, Long id) {
+    }
+
+    private KeysetCursor() {
+    }
+
+    static String encode(LocalDate date, Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ((date == null ? NO_DATE : date.toString()) + ":" + id).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    // null/blank → first page
+    static Key decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(
+                    Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8
+            );
+            String[] key = raw.split(":");
+            if (key.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return new Key(
+                    key[0].equals(NO_DATE) ? null : LocalDate.parse(key[0]),
+                    Long.parseLong(key[1])
+            );
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.budgetwise.service;
+
+import com.budgetwise.model.RecurringRule;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Occurrence dates of a {@link RecurringRule}: the months startDate's month
+ * + k * intervalMonths, on dayOfMonth or the month's last day if shorter.
+ */
+final class Recurrence {
+
+    private Recurrence() {
+    }
+
+    // First occurrence on or after `from`; null when the rule has ended by then
+    static LocalDate firstOnOrAfter(RecurringRule rule, LocalDate from) {
+        if (from.isBefore(rule.getStartDate())) {
+            from = rule.getStartDate();
+        }
+
+        YearMonth start = YearMonth.from(rule.getStartDate());
+        long months = start.until(YearMonth.from(from), ChronoUnit.MONTHS);
+        YearMonth month = start.plusMonths(months / rule.getIntervalMonths() * rule.getIntervalMonths());
+
+        LocalDate date = on(month, rule.getDayOfMonth());
+        while (date.isBefore(from)) {
+            month = month.plusMonths(rule.getIntervalMonths());
+            date = on(month, rule.getDayOfMonth());
+        }
+
+        return ended(rule, date) ? null : date;
+    }
+
+    // Occurrence following `occurrence`; null when the rule ends before it
+    static LocalDate after(RecurringRule rule, LocalDate occurrence) {
+        LocalDate date = on(
+                YearMonth.from(occurrence).plusMonths(rule.getIntervalMonths()),
+                rule.getDayOfMonth()
+        );
+        return ended(rule, date) ? null : date;
+    }
+
+    private static LocalDate on(YearMonth month, int dayOfMonth) {
+        return month.atDay(Math.min(dayOfMonth, month.lengthOfMonth()));
+    }
+
+    private static boolean ended(RecurringRule rule, LocalDate date) {
+        return rule.getEndDate() != null && date.isAfter(rule.getEndDate());
+    }
+}
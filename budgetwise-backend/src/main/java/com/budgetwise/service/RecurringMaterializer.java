@@ -0,0 +1,286 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.ChangeEvent;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.RecurringRule;
+import com.budgetwise.repository.RecurringRuleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes due occurrences of every {@link RecurringRule} as expenses.
+ *
+ * Users with something due are paged in id order and handed to a small
+ * worker pool in chunks. Workers load and plan their chunk on a read-only
+ * transaction in parallel, then write it in one short transaction with
+ * JDBC-batched inserts; writes take turns, as SQLite has a single writer.
+ * Request threads are never involved. When the pool is busy the scheduling
+ * thread runs the chunk itself, which bounds the queue; the scheduler has a
+ * thread per job (spring.task.scheduling.pool.size), so a long run never
+ * holds up the others.
+ *
+ * Restarts are safe: a rule's next_date is advanced with a compare-and-set
+ * on its version in the same transaction as its inserts. A chunk that did
+ * not commit is simply due again on the next run, and a rule another run
+ * advanced, or a user edited, since it was read is skipped until the next
+ * run plans it from its current values.
+ */
+@Slf4j
+@Component
+public class RecurringMaterializer implements DisposableBean {
+
+    private static final String ADVANCE_SQL = """
+            update recurring_rules set next_date = ?, version = version + 1
+            where id = ? and version = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            insert into expenses (title, amount_minor, category_id, type, date, user_id)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    // A due rule and where its next_date moves once its occurrences are written
+    private record Due(RecurringRule rule, List<LocalDate> occurrences, LocalDate next) {
+    }
+
+    private final RecurringRuleRepository ruleRepository;
+    private final RollupService rollupService;
+    private final UserDataVersions dataVersions;
+    private final ChangeFeed changeFeed;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    private final int chunkSize;
+    private final int maxCatchUp;
+
+    // SQLite has one writer: chunks are read and planned in parallel, written one at a time
+    private final Object writeLock = new Object();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter materialized;
+    private final Timer runTimer;
+
+    public RecurringMaterializer(
+            RecurringRuleRepository ruleRepository,
+            RollupService rollupService,
+            UserDataVersions dataVersions,
+            ChangeFeed changeFeed,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,   // queues on the SQLite writer in prod
+            MeterRegistry registry,
+            @Value("${budgetwise.recurring.threads:2}") int threads,
+            @Value("${budgetwise.recurring.chunk-size:200}") int chunkSize,
+            @Value("${budgetwise.recurring.max-catch-up:36}") int maxCatchUp
+    ) {
+        this.ruleRepository = ruleRepository;
+        this.rollupService = rollupService;
+        this.dataVersions = dataVersions;
+        this.changeFeed = changeFeed;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readTemplate.setReadOnly(true);
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxCatchUp = maxCatchUp;
+
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                r -> {
+                    Thread t = new Thread(r, "recurring-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+
+        this.materialized = Counter.builder("budgetwise.recurring.materialized")
+                .description("Expenses written from recurring rules")
+                .register(registry);
+        this.runTimer = Timer.builder("budgetwise.recurring.run")
+                .description("Time to materialize every due recurring rule")
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${budgetwise.recurring.cron:0 5 0 * * *}")
+    public void materializeDue() {
+        run(LocalDate.now());
+    }
+
+    /**
+     * Materializes every occurrence due on or before {@code today}.
+     *
+     * @return number of expenses written
+     */
+    public int run(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Recurring materialization already running, skipped");
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            long afterUserId = 0;
+            List<Long> users;
+
+            do {
+                users = ruleRepository.findDueUserIds(today, afterUserId, Limit.of(chunkSize));
+                if (!users.isEmpty()) {
+                    List<Long> chunk = users;
+                    chunks.add(executor.submit(() -> materialize(chunk, today)));
+                    afterUserId = users.get(users.size() - 1);
+                }
+            } while (users.size() == chunkSize);
+
+            int total = 0;
+            for (Future<Integer> chunk : chunks) {
+                total += await(chunk);
+            }
+
+            materialized.increment(total);
+            if (total > 0) {
+                log.info("Materialized {} recurring transactions in {} chunks", total, chunks.size());
+            }
+            return total;
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+    }
+
+    // A failed chunk rolled back and is due again next run; the others still count
+    private int await(Future<Integer> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            log.warn("Recurring materialization chunk failed", e.getCause());
+            return 0;
+        }
+    }
+
+    private int materialize(List<Long> userIds, LocalDate today) {
+        List<Due> due = readTemplate.execute(status -> plan(userIds, today));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        synchronized (writeLock) {
+            return transactionTemplate.execute(status -> write(due));
+        }
+    }
+
+    private List<Due> plan(List<Long> userIds, LocalDate today) {
+        List<Due> due = new ArrayList<>();
+
+        for (RecurringRule rule : ruleRepository.findDue(userIds, today)) {
+            List<LocalDate> occurrences = new ArrayList<>();
+            LocalDate next = rule.getNextDate();
+
+            // Catch-up is capped per run; the rest stays due for the next one
+            while (next != null && !next.isAfter(today) && occurrences.size() < maxCatchUp) {
+                occurrences.add(next);
+                next = Recurrence.after(rule, next);
+            }
+            due.add(new Due(rule, occurrences, next));
+        }
+
+        return due;
+    }
+
+    private int write(List<Due> due) {
+        int[][] advanced = jdbcTemplate.batchUpdate(ADVANCE_SQL, due, due.size(), (ps, d) -> {
+            // Same binding Hibernate uses for LocalDate, so stored values match
+            ps.setObject(1, d.next() == null ? null : Date.valueOf(d.next()));
+            ps.setLong(2, d.rule().getId());
+            ps.setLong(3, d.rule().getVersion());
+        });
+
+        List<Expense> rows = new ArrayList<>();
+        Set<Long> touchedUsers = new HashSet<>();
+
+        for (int i = 0; i < due.size(); i++) {
+            // 0 rows: the rule was moved on, edited or deleted since it was read
+            if (advanced[0][i] == 0) {
+                continue;
+            }
+
+            RecurringRule rule = due.get(i).rule();
+            for (LocalDate date : due.get(i).occurrences()) {
+                rows.add(toExpense(rule, date));
+            }
+            touchedUsers.add(rule.getUser().getId());
+        }
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, e) -> {
+            ps.setString(1, e.getTitle());
+            ps.setLong(2, e.getAmount());
+            ps.setObject(3, e.getCategoryId());
+            ps.setString(4, e.getType().name());
+            ps.setDate(5, Date.valueOf(e.getDate()));
+            ps.setLong(6, e.getUser().getId());
+        });
+
+        rollupService.addedAll(rows);
+        for (Long userId : touchedUsers) {
+            dataVersions.bump(userId);
+            changeFeed.publish(userId, ChangeEvent.builder()
+                    .entity(ChangeEvent.Entity.EXPENSE)
+                    .action(ChangeEvent.Action.CHANGED)
+                    .build());
+        }
+        return rows.size();
+    }
+
+    private static Expense toExpense(RecurringRule rule, LocalDate date) {
+        Expense e = new Expense();
+        e.setTitle(rule.getTitle());
+        e.setAmount(rule.getAmount());
+        e.setCategoryId(rule.getCategoryId());
+        e.setType(rule.getType());
+        e.setDate(date);
+        e.setUser(rule.getUser());
+        return e;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,122 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.RecurringRuleRequest;
+import com.budgetwise.dto.RecurringRuleResponse;
+import com.budgetwise.model.RecurringRule;
+import com.budgetwise.repository.RecurringRuleRepository;
+import com.budgetwise.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Timed("budgetwise.service")
+@RequiredArgsConstructor
+public class RecurringRuleService {
+
+    private final RecurringRuleRepository ruleRepository;
+    private final UserRepository userRepository;
+    private final CategoryDictionary categoryDictionary;
+
+    @Transactional
+    public RecurringRuleResponse createRule(Long userId, RecurringRuleRequest request) {
+        RecurringRule rule = new RecurringRule();
+        rule.setUser(userRepository.getReferenceById(userId));
+        apply(rule, userId, request);
+
+        // Occurrences from the start date on, including any already past
+        rule.setNextDate(Recurrence.firstOnOrAfter(rule, rule.getStartDate()));
+
+        return toResponse(ruleRepository.save(rule));
+    }
+
+    // Occurrences already written stay; the new schedule applies from the next one on
+    @Transactional
+    public RecurringRuleResponse updateRule(Long userId, Long id, RecurringRuleRequest request) {
+        RecurringRule rule = ruleRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Recurring rule not found"));
+
+        LocalDate from = rule.getNextDate() != null
+                ? rule.getNextDate()
+                : LocalDate.now().plusDays(1);
+
+        apply(rule, userId, request);
+        rule.setNextDate(Recurrence.firstOnOrAfter(rule, from));
+
+        return toResponse(ruleRepository.save(rule));
+    }
+
+    // Expenses it already produced are kept
+    @Transactional
+    public void deleteRule(Long userId, Long id) {
+        RecurringRule rule = ruleRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Recurring rule not found"));
+
+        ruleRepository.delete(rule);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringRuleResponse> getRules(Long userId) {
+        return ruleRepository.findByUserIdOrderById(userId)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private void apply(RecurringRule rule, Long userId, RecurringRuleRequest request) {
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            throw new RuntimeException("title is required");
+        }
+        if (request.getAmount() <= 0) {
+            throw new RuntimeException("amount must be a positive number");
+        }
+        if (request.getType() == null) {
+            throw new RuntimeException("Transaction type is required");
+        }
+        if (request.getStartDate() == null) {
+            throw new RuntimeException("startDate is required");
+        }
+        if (request.getIntervalMonths() < 1) {
+            throw new RuntimeException("intervalMonths must be at least 1");
+        }
+
+        int dayOfMonth = request.getDayOfMonth() == null
+                ? request.getStartDate().getDayOfMonth()
+                : request.getDayOfMonth();
+        if (dayOfMonth < 1 || dayOfMonth > 31) {
+            throw new RuntimeException("dayOfMonth must be between 1 and 31");
+        }
+
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new RuntimeException("endDate must not be before startDate");
+        }
+
+        rule.setTitle(request.getTitle().trim());
+        rule.setAmount(request.getAmount());
+        rule.setCategoryId(categoryDictionary.idFor(userId, request.getCategory()));
+        rule.setType(request.getType());
+        rule.setIntervalMonths(request.getIntervalMonths());
+        rule.setDayOfMonth(dayOfMonth);
+        rule.setStartDate(request.getStartDate());
+        rule.setEndDate(request.getEndDate());
+    }
+
+    private RecurringRuleResponse toResponse(RecurringRule r) {
+        return RecurringRuleResponse.builder()
+                .id(r.getId())
+                .title(r.getTitle())
+                .amount(r.getAmount())
+                .category(categoryDictionary.name(r.getCategoryId()))
+                .type(r.getType().name())
+                .intervalMonths(r.getIntervalMonths())
+                .dayOfMonth(r.getDayOfMonth())
+                .startDate(r.getStartDate())
+                .endDate(r.getEndDate())
+                .nextDate(r.getNextDate())
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.budgetwise.service;
+
+import com.budgetwise.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Clears expired password-reset tokens in small batches,
+ * one transaction per batch so the SQLite write lock is held only briefly.
+ */
+@Slf4j
+@Component
+public class ResetTokenSweeper {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ResetTokenSweeper(
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,   // queues on the SQLite writer in prod
+            @Value("${budgetwise.reset-token.sweep-batch-size:500}") int batchSize
+    ) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+            initialDelayString = "${budgetwise.reset-token.sweep-interval-ms:600000}",
+            fixedDelayString = "${budgetwise.reset-token.sweep-interval-ms:600000}"
+    )
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+        int cleared;
+
+        do {
+            cleared = transactionTemplate.execute(status -> {
+                List<Long> ids = userRepository.findIdsWithExpiredResetToken(
+                        now, Limit.of(batchSize)
+                );
+                return ids.isEmpty() ? 0 : userRepository.clearResetTokens(ids);
+            });
+            total += cleared;
+        } while (cleared == batchSize);
+
+        if (total > 0) {
+            log.info("Purged {} expired password reset tokens", total);
+        }
+    }
+}
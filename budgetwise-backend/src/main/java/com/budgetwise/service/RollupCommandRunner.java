@@ -0,0 +1,55 @@
+package com.budgetwise.service;
+
+import com.budgetwise.repository.ExpenseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rollup maintenance from the command line:
+ *   java -jar budgetwise-backend.jar --rollups=rebuild
+ *   java -jar budgetwise-backend.jar --rollups=verify   (exit code 1 on mismatch)
+ *
+ * Without the option, an empty rollup table is backfilled once at startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RollupCommandRunner implements ApplicationRunner {
+
+    private final RollupService rollupService;
+    private final ExpenseRepository expenseRepository;
+    private final ApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        if (!args.containsOption("rollups")) {
+            if (rollupService.isEmpty() && expenseRepository.count() > 0) {
+                log.info("Monthly category rollups are empty, backfilling from expenses");
+                rollupService.rebuild();
+            }
+            return;
+        }
+
+        String command = args.getOptionValues("rollups").get(0);
+
+        int exitCode = switch (command) {
+            case "rebuild" -> {
+                rollupService.rebuild();
+                yield 0;
+            }
+            case "verify" -> rollupService.verify() == 0 ? 0 : 1;
+            default -> {
+                log.error("Unknown --rollups command '{}', expected rebuild or verify", command);
+                yield 2;
+            }
+        };
+
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
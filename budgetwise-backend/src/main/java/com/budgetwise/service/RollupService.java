@@ -0,0 +1,266 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.DailyCategoryTotal;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.Money;
+import com.budgetwise.model.MonthlyCategoryTotal;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.repository.ExpenseRepository;
+import com.budgetwise.repository.MonthlyCategoryTotalRepository;
+import com.budgetwise.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Maintains the monthly_category_totals rollup.
+ * Mutations join the caller's transaction so totals never drift from expenses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RollupService {
+
+    private final MonthlyCategoryTotalRepository rollupRepository;
+    private final ExpenseRepository expenseRepository;
+    private final UserRepository userRepository;
+    private final BudgetSummaryCache summaryCache;
+    private final UserDataVersions dataVersions;
+    private final BudgetAlertService budgetAlerts;
+
+    // Snapshot of the fields that decide which rollup row an expense lands in
+    public record Key(Long userId, String month, long categoryId, TransactionType type) {
+
+        static Key of(Long userId, LocalDate date, Long categoryId, TransactionType type) {
+            return new Key(
+                    userId,
+                    YearMonth.from(date).toString(),
+                    bucket(categoryId),
+                    type
+            );
+        }
+    }
+
+    public record Snapshot(Key key, long amount) {
+    }
+
+    // Uncategorised expenses share bucket 0; dictionary ids start at 1
+    public static long bucket(Long categoryId) {
+        return categoryId == null ? 0 : categoryId;
+    }
+
+    public Snapshot snapshot(Expense expense) {
+        if (expense.getDate() == null || expense.getType() == null) {
+            return null;
+        }
+
+        return new Snapshot(
+                Key.of(
+                        expense.getUser().getId(),
+                        expense.getDate(),
+                        expense.getCategoryId(),
+                        expense.getType()
+                ),
+                expense.getAmount()
+        );
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void added(Expense expense) {
+        changedAll(List.of(), Collections.singletonList(snapshot(expense)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removed(Snapshot before) {
+        changedAll(Collections.singletonList(before), List.of());
+    }
+
+    // Bulk path (imports): aggregate per bucket first so each bucket is touched once
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addedAll(List<Expense> expenses) {
+        changedAll(List.of(), expenses.stream().map(this::snapshot).toList());
+    }
+
+    // Bulk path (batch mutations): nets removals against additions per bucket,
+    // so an edit that stays in its bucket only moves the total
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changedAll(List<Snapshot> removed, List<Snapshot> added) {
+        Map<Key, long[]> deltas = new HashMap<>();
+
+        collect(deltas, removed, -1);
+        collect(deltas, added, 1);
+
+        deltas.forEach((k, v) -> {
+            if (v[0] != 0 || v[1] != 0) {
+                apply(k, v[0], v[1]);
+            }
+        });
+
+        alert(deltas);
+    }
+
+    // Budget thresholds are checked once every bucket holds its new total, so a
+    // move between categories never looks like a rise of the month's overall
+    private void alert(Map<Key, long[]> deltas) {
+        Map<UserMonth, Map<Long, Long>> byMonth = new HashMap<>();
+
+        deltas.forEach((k, v) -> {
+            if (k.type() == TransactionType.EXPENSE && v[0] != 0) {
+                byMonth.computeIfAbsent(new UserMonth(k.userId(), k.month()), m -> new HashMap<>())
+                        .put(k.categoryId(), v[0]);
+            }
+        });
+
+        byMonth.forEach((m, categoryDeltas) -> budgetAlerts.spent(m.userId(), m.month(), categoryDeltas));
+    }
+
+    private record UserMonth(Long userId, String month) {
+    }
+
+    private void collect(Map<Key, long[]> deltas, List<Snapshot> snapshots, int sign) {
+        for (Snapshot s : snapshots) {
+            if (s == null) {
+                continue;
+            }
+            long[] bucket = deltas.computeIfAbsent(s.key(), k -> {
+                touched(s);
+                return new long[2];
+            });
+            bucket[0] += sign * s.amount();
+            bucket[1] += sign;
+        }
+    }
+
+    // Handles moves between months/categories: old bucket down, new bucket up.
+    // Netted so an edit within a bucket reaches the budget alerts as its real change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(Snapshot before, Expense after) {
+        changedAll(
+                before == null ? List.of() : List.of(before),
+                Collections.singletonList(snapshot(after))
+        );
+    }
+
+    // Budget summaries only read EXPENSE totals
+    private void touched(Snapshot s) {
+        if (s.key().type() == TransactionType.EXPENSE) {
+            summaryCache.invalidateMonth(s.key().userId(), s.key().month());
+        }
+    }
+
+    private void apply(Key k, long amount, long count) {
+        int updated = rollupRepository.increment(
+                k.userId(),
+                k.month(),
+                k.categoryId(),
+                k.type(),
+                amount,
+                count
+        );
+
+        if (updated == 0) {
+            rollupRepository.save(new MonthlyCategoryTotal(
+                    null,
+                    userRepository.getReferenceById(k.userId()),
+                    k.month(),
+                    k.categoryId(),
+                    k.type(),
+                    amount,
+                    count
+            ));
+        }
+    }
+
+    /**
+     * Recomputes every rollup row from the raw expenses table.
+     */
+    @Transactional
+    public int rebuild() {
+        Map<Key, long[]> expected = computeFromExpenses();
+
+        rollupRepository.deleteAllInBatch();
+
+        List<MonthlyCategoryTotal> rows = new ArrayList<>(expected.size());
+        expected.forEach((k, v) -> rows.add(new MonthlyCategoryTotal(
+                null,
+                userRepository.getReferenceById(k.userId()),
+                k.month(),
+                k.categoryId(),
+                k.type(),
+                v[0],
+                v[1]
+        )));
+
+        rollupRepository.saveAll(rows);
+        summaryCache.invalidateAll();
+        dataVersions.bumpAll();
+
+        log.info("Rebuilt {} monthly category rollup rows", rows.size());
+        return rows.size();
+    }
+
+    /**
+     * Compares stored rollups against the raw expenses and logs every mismatch.
+     *
+     * @return number of mismatched (user, month, category, type) keys
+     */
+    @Transactional(readOnly = true)
+    public int verify() {
+        Map<Key, long[]> expected = computeFromExpenses();
+
+        Map<Key, long[]> actual = new HashMap<>();
+        for (MonthlyCategoryTotal r : rollupRepository.findAll()) {
+            if (r.getTxCount() == 0) {
+                continue;
+            }
+            actual.put(
+                    new Key(r.getUser().getId(), r.getMonth(), r.getCategoryId(), r.getType()),
+                    new long[]{r.getTotal(), r.getTxCount()}
+            );
+        }
+
+        Set<Key> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+
+        int mismatches = 0;
+        for (Key k : keys) {
+            long[] e = expected.getOrDefault(k, new long[2]);
+            long[] a = actual.getOrDefault(k, new long[2]);
+
+            // Minor units add up exactly, so any difference is a real mismatch
+            if (e[0] != a[0] || e[1] != a[1]) {
+                mismatches++;
+                log.warn("Rollup mismatch for {}: expected total={} count={}, stored total={} count={}",
+                        k, Money.format(e[0]), e[1], Money.format(a[0]), a[1]);
+            }
+        }
+
+        log.info("Verified {} rollup keys, {} mismatches", keys.size(), mismatches);
+        return mismatches;
+    }
+
+    public boolean isEmpty() {
+        return rollupRepository.count() == 0;
+    }
+
+    private Map<Key, long[]> computeFromExpenses() {
+        Map<Key, long[]> totals = new HashMap<>();
+
+        for (DailyCategoryTotal row : expenseRepository.sumForRollup()) {
+            long[] bucket = totals.computeIfAbsent(
+                    Key.of(row.getUserId(), row.getDate(), row.getCategoryId(), row.getType()),
+                    k -> new long[2]
+            );
+            bucket[0] += row.getTotal();
+            bucket[1] += row.getCount();
+        }
+
+        return totals;
+    }
+}
@@ -3,50 +3,83 @@ package com.budgetwise.service;
 import com.budgetwise.dto.*;
 import com.budgetwise.model.*;
 import com.budgetwise.repository.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("budgetwise.service")
 @RequiredArgsConstructor
 public class SavingsGoalService {
 
     private final SavingsGoalRepository goalRepository;
     private final SavingsEntryRepository entryRepository;
     private final UserRepository userRepository;
+    private final UserDataVersions dataVersions;
+    private final ChangeFeed changeFeed;
 
-    public void createGoal(String email, SavingsGoalRequest request) {
-        User user = userRepository.findByEmail(email).orElseThrow();
+    @Value("${budgetwise.savings.entries.default-page-size:20}")
+    private int defaultPageSize;
 
+    @Value("${budgetwise.savings.entries.max-page-size:100}")
+    private int maxPageSize;
+
+    @Transactional
+    public void createGoal(Long userId, SavingsGoalRequest request) {
         SavingsGoal goal = new SavingsGoal();
         goal.setName(request.getName());
         goal.setTargetAmount(request.getTargetAmount());
-        goal.setUser(user);
+        goal.setUser(userRepository.getReferenceById(userId));
 
         goalRepository.save(goal);
+        dataVersions.bump(userId);
+        publishGoal(userId, ChangeEvent.Action.CREATED, goal, 0, 0);
     }
 
-    public void updateGoal(String email, Long goalId, SavingsGoalRequest request) {
+    @Transactional
+    public void updateGoal(Long userId, Long goalId, SavingsGoalRequest request) {
         SavingsGoal goal =
-                goalRepository.findByIdAndUserEmail(goalId, email).orElseThrow();
+                goalRepository.findByIdAndUserId(goalId, userId).orElseThrow();
 
         goal.setName(request.getName());
         goal.setTargetAmount(request.getTargetAmount());
 
         goalRepository.save(goal);
+        dataVersions.bump(userId);
+
+        // Totals ride along so clients can replace the goal as it stands
+        GoalTotal total = entryRepository.sumForGoal(goalId).orElse(null);
+        publishGoal(userId, ChangeEvent.Action.UPDATED, goal,
+                total == null ? 0 : total.getTotal(),
+                total == null ? 0 : total.getCount());
     }
 
-    public void deleteGoal(String email, Long goalId) {
+    @Transactional
+    public void deleteGoal(Long userId, Long goalId) {
         SavingsGoal goal =
-                goalRepository.findByIdAndUserEmail(goalId, email).orElseThrow();
+                goalRepository.findByIdAndUserId(goalId, userId).orElseThrow();
 
         goalRepository.delete(goal);
+        dataVersions.bump(userId);
+        changeFeed.publish(userId, ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.GOAL)
+                .action(ChangeEvent.Action.DELETED)
+                .id(goalId)
+                .build());
     }
 
-    public void addEntry(String email, Long goalId, SavingsEntryRequest request) {
+    @Transactional
+    public void addEntry(Long userId, Long goalId, SavingsEntryRequest request) {
         SavingsGoal goal =
-                goalRepository.findByIdAndUserEmail(goalId, email).orElseThrow();
+                goalRepository.findByIdAndUserId(goalId, userId).orElseThrow();
 
         SavingsEntry entry = new SavingsEntry();
         entry.setAmount(request.getAmount());
@@ -55,48 +88,156 @@ public class SavingsGoalService {
         entry.setGoal(goal);
 
         entryRepository.save(entry);
+        dataVersions.bump(userId);
+        changeFeed.publish(userId, ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.ENTRY)
+                .action(ChangeEvent.Action.CREATED)
+                .id(entry.getId())
+                .goalId(goalId)
+                .data(SavingsGoalResponse.Entry.builder()
+                        .id(entry.getId())
+                        .amount(entry.getAmount())
+                        .date(entry.getDate() == null ? null : entry.getDate().toString())
+                        .note(entry.getNote())
+                        .build())
+                .build());
     }
 
-    public void deleteEntry(String email, Long entryId) {
-        SavingsEntry entry = entryRepository.findById(entryId).orElseThrow();
-
-        if (!entry.getGoal().getUser().getEmail().equals(email)) {
-            throw new RuntimeException("Unauthorized");
+    @Transactional
+    public void deleteEntry(Long userId, Long entryId) {
+        if (entryRepository.deleteOwned(entryId, userId) == 0) {
+            throw new RuntimeException("Savings entry not found");
         }
 
-        entryRepository.delete(entry);
+        // Deleted in one statement, so only the id is known; clients find it locally
+        dataVersions.bump(userId);
+        changeFeed.publish(userId, ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.ENTRY)
+                .action(ChangeEvent.Action.DELETED)
+                .id(entryId)
+                .build());
     }
 
-    public List<SavingsGoalResponse> getGoals(String email) {
+    private void publishGoal(Long userId, ChangeEvent.Action action, SavingsGoal goal, long saved, long count) {
+        changeFeed.publish(userId, ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.GOAL)
+                .action(action)
+                .id(goal.getId())
+                .data(SavingsGoalResponse.builder()
+                        .id(goal.getId())
+                        .name(goal.getName())
+                        .targetAmount(goal.getTargetAmount())
+                        .totalSaved(saved)
+                        .remaining(goal.getTargetAmount() - saved)
+                        .percentage(Money.percent(saved, goal.getTargetAmount()))
+                        .entryCount(count)
+                        .build())
+                .build());
+    }
+
+    // Constant query count: goals, one aggregate, and (optionally) one
+    // windowed query for the newest entriesPerGoal entries of every goal
+    @Transactional(readOnly = true)
+    public List<SavingsGoalResponse> getGoals(Long userId, Integer entriesPerGoal) {
 
-        return goalRepository.findByUserEmail(email).stream().map(goal -> {
+        List<SavingsGoal> goals = goalRepository.findByUserId(userId);
+        if (goals.isEmpty()) {
+            return List.of();
+        }
 
-            double totalSaved =
-                    goal.getEntries().stream().mapToDouble(SavingsEntry::getAmount).sum();
+        Map<Long, GoalTotal> totals = entryRepository.sumByGoal(userId).stream()
+                .collect(Collectors.toMap(GoalTotal::getGoalId, t -> t));
 
-            return SavingsGoalResponse.builder()
+        int perGoal = entriesPerGoal == null ? 0 : Math.min(entriesPerGoal, maxPageSize);
+        Map<Long, List<GoalEntryRow>> latest = perGoal <= 0
+                ? Map.of()
+                : entryRepository.findLatestPerGoal(userId, perGoal).stream()
+                        .collect(Collectors.groupingBy(GoalEntryRow::getGoalId));
+
+        return goals.stream().map(goal -> {
+
+            GoalTotal total = totals.get(goal.getId());
+            long totalSaved = total == null ? 0 : total.getTotal();
+            long entryCount = total == null ? 0 : total.getCount();
+
+            SavingsGoalResponse.SavingsGoalResponseBuilder response = SavingsGoalResponse.builder()
                     .id(goal.getId())
                     .name(goal.getName())
                     .targetAmount(goal.getTargetAmount())
                     .totalSaved(totalSaved)
                     .remaining(goal.getTargetAmount() - totalSaved)
-                    .percentage(
-                            goal.getTargetAmount() == 0
-                                    ? 0
-                                    : (totalSaved / goal.getTargetAmount()) * 100
-                    )
-                    .entries(
-                            goal.getEntries().stream().map(e ->
-                                    SavingsGoalResponse.Entry.builder()
-                                            .id(e.getId())
-                                            .amount(e.getAmount())
-                                            .date(e.getDate().toString())
-                                            .note(e.getNote())
-                                            .build()
-                            ).toList()
-                    )
-                    .build();
+                    .percentage(Money.percent(totalSaved, goal.getTargetAmount()))
+                    .entryCount(entryCount);
+
+            if (perGoal > 0) {
+                List<GoalEntryRow> rows = latest.getOrDefault(goal.getId(), List.of());
+                response.entries(rows.stream().map(this::toEntry).toList());
+
+                if (entryCount > rows.size()) {
+                    GoalEntryRow last = rows.get(rows.size() - 1);
+                    response.entriesCursor(KeysetCursor.encode(last.getDate(), last.getId()));
+                }
+            }
+
+            return response.build();
 
         }).toList();
     }
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    public SavingsEntryPage getEntries(Long userId, Long goalId, String cursor, Integer limit) {
+
+        int size = limit == null
+                ? defaultPageSize
+                : Math.max(1, Math.min(limit, maxPageSize));
+
+        KeysetCursor.Key key = KeysetCursor.decode(cursor);
+
+        // One extra row tells us whether another page exists
+        List<SavingsEntry> rows;
+        if (key == null) {
+            rows = entryRepository.findPage(goalId, userId, Limit.of(size + 1));
+        } else if (key.date() == null) {
+            rows = entryRepository.findUndatedPageBefore(goalId, userId, key.id(), Limit.of(size + 1));
+        } else {
+            rows = entryRepository.findPageBefore(goalId, userId, key.date(), key.id(), Limit.of(size + 1));
+
+            // Out of dated entries: the page goes on into the undated ones
+            if (rows.size() <= size) {
+                rows = new ArrayList<>(rows);
+                rows.addAll(entryRepository.findUndatedPageBefore(
+                        goalId, userId, Long.MAX_VALUE, Limit.of(size + 1 - rows.size())));
+            }
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<SavingsEntry> page = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            SavingsEntry last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getDate(), last.getId());
+        }
+
+        return SavingsEntryPage.builder()
+                .items(page.stream().map(e ->
+                        SavingsGoalResponse.Entry.builder()
+                                .id(e.getId())
+                                .amount(e.getAmount())
+                                .date(e.getDate() == null ? null : e.getDate().toString())
+                                .note(e.getNote())
+                                .build()
+                ).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private SavingsGoalResponse.Entry toEntry(GoalEntryRow row) {
+        return SavingsGoalResponse.Entry.builder()
+                .id(row.getId())
+                .amount(row.getAmount())
+                .date(row.getDate() == null ? null : row.getDate().toString())
+                .note(row.getNote())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.budgetwise.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monotonic per-user data version, bumped by every service method that
+ * changes a user's expenses, budgets or savings.
+ *
+ * Kept in memory: the tag returned by {@link #tag} also carries a value that
+ * is new on every start, so versions handed out before a restart never match.
+ */
+@Component
+public class UserDataVersions {
+
+    private final String instance = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    // Bumped for writes that span every user (rollup rebuilds)
+    private volatile long generation;
+
+    public String tag(Long userId) {
+        return instance + "." + generation + "." + versions.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Bumps after commit, so a reader can never see the new version together
+     * with data from before the write. Outside a transaction it bumps at once.
+     */
+    public void bump(Long userId) {
+        AfterCommit.run(() -> versions.merge(userId, 1L, Long::sum));
+    }
+
+    public void bumpAll() {
+        AfterCommit.run(() -> generation++);
+    }
+}
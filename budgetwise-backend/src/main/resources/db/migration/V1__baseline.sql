@@ -0,0 +1,42 @@
+-- Schema as Hibernate's ddl-auto=update left it; existing tables are kept as they are
+-- and brought forward by the migrations that follow.
+
+create table if not exists users (
+    id integer, email varchar(255) not null unique, name varchar(255) not null,
+    password varchar(255) not null, reset_token varchar(255), reset_token_expiry bigint,
+    role varchar(255) not null, primary key (id)
+);
+
+create table if not exists categories (
+    id integer, name varchar(255) not null, user_id bigint not null, primary key (id)
+);
+
+create table if not exists expenses (
+    id integer, amount_minor bigint not null, category_id bigint, date date, title varchar(255),
+    type varchar(255) check ((type in ('INCOME','EXPENSE'))), user_id bigint not null, primary key (id)
+);
+
+create table if not exists budget (
+    id integer, month varchar(255), total_budget_minor bigint not null, user_id bigint not null,
+    primary key (id)
+);
+
+create table if not exists category_budget (
+    id integer, amount_minor bigint not null, category_id bigint, budget_id bigint, primary key (id)
+);
+
+create table if not exists monthly_category_totals (
+    id integer, category_id bigint not null, month varchar(255) not null, total_minor bigint not null,
+    tx_count bigint not null, type varchar(255) not null check ((type in ('INCOME','EXPENSE'))),
+    user_id bigint not null, primary key (id)
+);
+
+create table if not exists savings_goal (
+    id integer, created_at timestamp, name varchar(255), target_amount_minor bigint not null,
+    user_id bigint, primary key (id)
+);
+
+create table if not exists savings_entry (
+    id integer, amount_minor bigint not null, date date, note varchar(255), goal_id bigint,
+    primary key (id)
+);
@@ -0,0 +1,20 @@
+-- Indexes Hibernate used to create from the entity annotations
+create index if not exists idx_users_reset_token on users (reset_token);
+create index if not exists idx_users_reset_token_expiry on users (reset_token_expiry);
+create index if not exists idx_categories_user_name on categories (user_id, name);
+create index if not exists idx_expenses_user_date_id on expenses (user_id, date, id);
+create index if not exists idx_expenses_user_category_date_id on expenses (user_id, category_id, date, id);
+create index if not exists idx_rollup_user_month_category_id_type on monthly_category_totals (user_id, month, category_id, type);
+create index if not exists idx_savings_entry_goal_date_id on savings_entry (goal_id, date, id);
+
+-- Expense pages filtered by type, newest first (keyset on date, id)
+create index if not exists idx_expenses_user_type_date_id on expenses (user_id, type, date, id);
+
+-- Budget for a month and the carried-forward lookup (latest month before)
+create index if not exists idx_budget_user_month on budget (user_id, month);
+
+-- Category budgets are always loaded through their budget
+create index if not exists idx_category_budget_budget on category_budget (budget_id);
+
+-- A user's savings goals; entries per goal use idx_savings_entry_goal_date_id
+create index if not exists idx_savings_goal_user on savings_goal (user_id);
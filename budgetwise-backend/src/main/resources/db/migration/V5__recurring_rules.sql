@@ -0,0 +1,11 @@
+-- Recurring transactions (rent, salary, subscriptions). next_date is the first
+-- occurrence not yet written to expenses; null once the rule has ended.
+create table if not exists recurring_rules (
+    id integer, user_id bigint not null, title varchar(255) not null, amount_minor bigint not null,
+    category_id bigint, type varchar(255) not null check ((type in ('INCOME','EXPENSE'))),
+    interval_months integer not null, day_of_month integer not null,
+    start_date date not null, end_date date, next_date date, primary key (id)
+);
+
+-- A user's rules, and the scheduler's due scan walked in user order
+create index if not exists idx_recurring_rules_user_next_date on recurring_rules (user_id, next_date);
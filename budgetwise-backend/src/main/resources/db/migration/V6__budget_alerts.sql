@@ -0,0 +1,16 @@
+-- Alert thresholds in percent of the budget, e.g. '80,100'; null = budgetwise.alerts.default-thresholds
+alter table budget add column alert_thresholds varchar(255);
+alter table category_budget add column alert_thresholds varchar(255);
+
+-- A crossed threshold; category_id 0 is the overall budget
+create table if not exists budget_alerts (
+    id integer, user_id bigint not null, month varchar(255) not null, category_id bigint not null,
+    threshold integer not null, spent_minor bigint not null, budget_minor bigint not null,
+    created_at timestamp not null, read_at timestamp, primary key (id)
+);
+
+-- Each threshold is recorded once per user, month and budget
+create unique index if not exists idx_budget_alerts_scope on budget_alerts (user_id, month, category_id, threshold);
+
+-- A user's unread alerts, newest first
+create index if not exists idx_budget_alerts_user_read_id on budget_alerts (user_id, read_at, id);
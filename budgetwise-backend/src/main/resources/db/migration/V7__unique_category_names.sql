@@ -0,0 +1,51 @@
+-- Concurrent first uses of a name may have created it twice; every copy is
+-- folded into the oldest row before the name is made unique
+create temp table category_duplicates as
+select c.id as duplicate,
+       (select min(k.id) from categories k where k.user_id = c.user_id and k.name = c.name) as keep
+from categories c
+where c.id > (select min(k.id) from categories k where k.user_id = c.user_id and k.name = c.name);
+
+update expenses
+set category_id = (select keep from category_duplicates where duplicate = expenses.category_id)
+where category_id in (select duplicate from category_duplicates);
+
+update category_budget
+set category_id = (select keep from category_duplicates where duplicate = category_budget.category_id)
+where category_id in (select duplicate from category_duplicates);
+
+update recurring_rules
+set category_id = (select keep from category_duplicates where duplicate = recurring_rules.category_id)
+where category_id in (select duplicate from category_duplicates);
+
+-- A threshold already recorded for the kept category stays recorded once
+update or ignore budget_alerts
+set category_id = (select keep from category_duplicates where duplicate = budget_alerts.category_id)
+where category_id in (select duplicate from category_duplicates);
+delete from budget_alerts where category_id in (select duplicate from category_duplicates);
+
+-- Rollup buckets of the copies are summed into the kept category's bucket
+create temp table category_rollups as
+select t.user_id, t.month, coalesce(d.keep, t.category_id) as category_id, t.type,
+       sum(t.total_minor) as total_minor, sum(t.tx_count) as tx_count
+from monthly_category_totals t
+left join category_duplicates d on d.duplicate = t.category_id
+where t.category_id in (select duplicate from category_duplicates)
+   or t.category_id in (select keep from category_duplicates)
+group by t.user_id, t.month, coalesce(d.keep, t.category_id), t.type;
+
+delete from monthly_category_totals
+where category_id in (select duplicate from category_duplicates)
+   or category_id in (select keep from category_duplicates);
+
+insert into monthly_category_totals (user_id, month, category_id, type, total_minor, tx_count)
+select user_id, month, category_id, type, total_minor, tx_count from category_rollups;
+
+delete from categories where id in (select duplicate from category_duplicates);
+
+drop table category_rollups;
+drop table category_duplicates;
+
+-- One row per (user, name), so concurrent idFor calls resolve to the same id
+drop index if exists idx_categories_user_name;
+create unique index idx_categories_user_name on categories (user_id, name);
@@ -0,0 +1,3 @@
+-- Bumped by every edit and every advance of next_date; the scheduler only
+-- writes a rule's occurrences if the rule is still the version it planned from
+alter table recurring_rules add column version bigint not null default 0;
@@ -0,0 +1,227 @@
+package com.budgetwise;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mixed read/write HTTP load against the default single-connection setup
+ * and the prod profile (WAL, reader pool, group-commit writer).
+ *
+ * Not a unit test. Run with:
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.budgetwise.MixedLoadBenchmark \
+ *       [-Dbench.threads=32 -Dbench.seconds=20 -Dbench.writePercent=20]
+ *
+ * Platform vs virtual request threads (Java 21+), at a concurrency above
+ * Tomcat's 200 workers:
+ *   ... -Dbench.modes=wal,virtual -Dbench.threads=512
+ */
+public class MixedLoadBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 32);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmupSeconds", 5);
+    private static final int WRITE_PERCENT = Integer.getInteger("bench.writePercent", 20);
+    private static final int USERS = Integer.getInteger("bench.users", 8);
+    private static final int SEED_ROWS = Integer.getInteger("bench.seedRows", 5000);
+    private static final List<String> MODES = List.of(System.getProperty("bench.modes", "single,wal").split(","));
+
+    private static final HttpClient http = HttpClient.newHttpClient();
+
+    public static void main(String[] args) throws Exception {
+        List<String> results = new ArrayList<>();
+
+        for (String mode : MODES) {
+            results.add(switch (mode) {
+                case "single" -> run(mode);
+                case "wal" -> run(mode, "prod");
+                // Falls back to platform threads below Java 21, admission control still applies
+                case "virtual" -> run(mode, "prod", "virtual");
+                default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+            });
+        }
+
+        System.out.printf("%n%d threads, %ds, %d%% writes, %d users x %d rows%n",
+                THREADS, SECONDS, WRITE_PERCENT, USERS, SEED_ROWS);
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %8s %8s%n",
+                "mode", "ops/s", "read p50", "read p99", "write p50", "write p99", "errors", "503s");
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static String run(String name, String... profiles) throws Exception {
+        Path dir = Files.createTempDirectory("budgetwise-bench-");
+
+        SpringApplicationBuilder app = new SpringApplicationBuilder(BudgetwiseBackendApplication.class)
+                .profiles(profiles);
+
+        // Passed as arguments so they override application.properties
+        try (ConfigurableApplicationContext ctx = app.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:sqlite:" + dir.resolve("bench.db"),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+        )) {
+            String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+
+            List<String> tokens = new ArrayList<>();
+            for (int u = 0; u < USERS; u++) {
+                tokens.add(seedUser(base, "bench" + u + "@budgetwise.test"));
+            }
+
+            load(base, tokens, WARMUP_SECONDS);
+            Stats stats = load(base, tokens, SECONDS);
+
+            return String.format("%-8s %10.0f %9.1fms %9.1fms %9.1fms %9.1fms %8d %8d",
+                    name,
+                    (stats.reads.size() + stats.writes.size()) / (double) SECONDS,
+                    stats.percentile(stats.reads, 50),
+                    stats.percentile(stats.reads, 99),
+                    stats.percentile(stats.writes, 50),
+                    stats.percentile(stats.writes, 99),
+                    stats.errors,
+                    stats.rejected);
+        }
+    }
+
+    private static String seedUser(String base, String email) throws Exception {
+        send(post(base + "/api/auth/register", null, "application/json",
+                "{\"name\":\"bench\",\"email\":\"" + email + "\",\"password\":\"benchpass\"}"));
+
+        String body = send(post(base + "/api/auth/login", null, "application/json",
+                "{\"email\":\"" + email + "\",\"password\":\"benchpass\"}")).body();
+        String token = body.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        StringBuilder csv = new StringBuilder("title,amount,category,type,date\n");
+        LocalDate start = LocalDate.now().minusYears(2);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < SEED_ROWS; i++) {
+            csv.append("Seed ").append(i).append(',')
+                    .append(1 + rnd.nextInt(500)).append(',')
+                    .append(rnd.nextBoolean() ? "Food" : "Rent").append(',')
+                    .append(rnd.nextInt(5) == 0 ? "INCOME" : "EXPENSE").append(',')
+                    .append(start.plusDays(rnd.nextInt(730))).append('\n');
+        }
+        send(post(base + "/api/expenses/import", token, "text/csv", csv.toString()));
+
+        return token;
+    }
+
+    private static Stats load(String base, List<String> tokens, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        String month = LocalDate.now().toString().substring(0, 7);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Stats>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            String token = tokens.get(t % tokens.size());
+
+            futures.add(pool.submit(() -> {
+                Stats s = new Stats();
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+                while (System.nanoTime() < deadline) {
+                    boolean write = rnd.nextInt(100) < WRITE_PERCENT;
+                    HttpRequest request;
+
+                    if (write) {
+                        request = rnd.nextBoolean()
+                                ? post(base + "/api/expenses", token, "application/json",
+                                "{\"title\":\"Load\",\"amount\":" + (1 + rnd.nextInt(100))
+                                        + ",\"category\":\"Food\",\"type\":\"EXPENSE\",\"date\":\""
+                                        + LocalDate.now() + "\"}")
+                                : post(base + "/api/budget", token, "application/json",
+                                "{\"month\":\"" + month + "\",\"totalBudget\":" + (1000 + rnd.nextInt(1000))
+                                        + ",\"categories\":[{\"category\":\"Food\",\"amount\":500}]}");
+                    } else {
+                        request = switch (rnd.nextInt(3)) {
+                            case 0 -> get(base + "/api/expenses?limit=50", token);
+                            case 1 -> get(base + "/api/budget?month=" + month, token);
+                            default -> get(base + "/api/insights", token);
+                        };
+                    }
+
+                    long t0 = System.nanoTime();
+                    HttpResponse<String> response = send(request);
+                    long micros = (System.nanoTime() - t0) / 1000;
+
+                    // A missing budget for the month is a valid read outcome
+                    // Shed by admission control
+                    if (response.statusCode() == 503) {
+                        s.rejected++;
+                    } else if (response.statusCode() >= 500
+                            || (response.statusCode() >= 400 && !response.body().contains("budget"))) {
+                        s.errors++;
+                    } else {
+                        (write ? s.writes : s.reads).add(micros);
+                    }
+                }
+                return s;
+            }));
+        }
+
+        Stats total = new Stats();
+        for (Future<Stats> f : futures) {
+            Stats s = f.get();
+            total.reads.addAll(s.reads);
+            total.writes.addAll(s.writes);
+            total.errors += s.errors;
+            total.rejected += s.rejected;
+        }
+        pool.shutdown();
+        return total;
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(String url, String token, String contentType, String body) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            b.header("Authorization", "Bearer " + token);
+        }
+        return b.build();
+    }
+
+    private static HttpResponse<String> send(HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static class Stats {
+        final List<Long> reads = new ArrayList<>();
+        final List<Long> writes = new ArrayList<>();
+        long errors;
+        long rejected;
+
+        double percentile(List<Long> micros, int p) {
+            if (micros.isEmpty()) {
+                return 0;
+            }
+            long[] sorted = micros.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return sorted[Math.min(sorted.length - 1, sorted.length * p / 100)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.budgetwise;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cold-start time of the packaged app: wall time from launching the JVM to
+ * the first successful request (GET /actuator/health, which goes through
+ * security and the database), plus Spring's own "Started ... in" figure.
+ *
+ *   current    the plain jar as it starts today (default profile)
+ *   prod       the plain jar with the prod profile
+ *   optimized  target/fast-startup: prod profile, AOT and the CDS archive
+ *
+ * Not a unit test. Build both, then run:
+ *   mvn -q -Pfast-startup package -DskipTests
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.budgetwise.StartupBenchmark [-Dbench.runs=5]
+ *
+ * The jar the profile packages still starts the classic way without
+ * -Dspring.aot.enabled, so one build serves all three modes. Each mode
+ * starts once unmeasured against its database to run the migrations.
+ */
+public class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("bench.runs", 5);
+    private static final List<String> MODES = List.of(System.getProperty("bench.modes", "current,prod,optimized").split(","));
+    private static final Path TARGET = Path.of(System.getProperty("bench.target", "target"));
+    private static final String JAR = System.getProperty("bench.jar", "budgetwise-backend-0.0.1-SNAPSHOT.jar");
+    private static final long TIMEOUT_MS = Long.getLong("bench.timeoutMs", 120_000);
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([\\d.]+) seconds");
+
+    private static final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        List<String> results = new ArrayList<>();
+
+        for (String mode : MODES) {
+            results.add(switch (mode) {
+                case "current" -> run(mode, TARGET, List.of());
+                case "prod" -> run(mode, TARGET, List.of("-Dspring.profiles.active=prod"));
+                case "optimized" -> run(mode, TARGET.resolve("fast-startup"), List.of(
+                        "-XX:SharedArchiveFile=app.jsa",
+                        "-Xlog:cds=error",
+                        "-Dspring.aot.enabled=true",
+                        "-Dspring.profiles.active=prod"));
+                default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+            });
+        }
+
+        System.out.printf("%n%d runs per mode, %d cores%n", RUNS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-10s %14s %10s %10s %14s%n", "mode", "first req p50", "min", "max", "started p50");
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static String run(String name, Path dir, List<String> jvmArgs) throws Exception {
+        if (!Files.exists(dir.resolve(JAR))) {
+            throw new IllegalStateException(dir.resolve(JAR) + " not found, package the app first");
+        }
+        Path db = Files.createTempDirectory("budgetwise-startup-").resolve("startup.db");
+
+        launch(dir, jvmArgs, db);
+
+        long[] firstRequest = new long[RUNS];
+        long[] started = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long[] run = launch(dir, jvmArgs, db);
+            firstRequest[i] = run[0];
+            started[i] = run[1];
+        }
+        Arrays.sort(firstRequest);
+        Arrays.sort(started);
+
+        return String.format("%-10s %12dms %8dms %8dms %12dms",
+                name,
+                firstRequest[RUNS / 2],
+                firstRequest[0],
+                firstRequest[RUNS - 1],
+                started[RUNS / 2]);
+    }
+
+    // {ms to first 200, ms Spring reported for startup}
+    private static long[] launch(Path dir, List<String> jvmArgs, Path db) throws Exception {
+        int port = freePort();
+        Path log = Files.createTempFile("budgetwise-startup-", ".log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of(
+                "-jar", JAR,
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:sqlite:" + db.toAbsolutePath()));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        try {
+            long firstRequest = awaitFirstRequest(process, port, start);
+            Matcher m = STARTED.matcher(Files.readString(log));
+            long started = m.find() ? Math.round(Double.parseDouble(m.group(1)) * 1000) : -1;
+            return new long[]{firstRequest, started};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private static long awaitFirstRequest(Process process, int port, long start) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        while (System.nanoTime() - start < TIMEOUT_MS * 1_000_000L) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("App exited with " + process.exitValue() + " before serving a request");
+            }
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - start) / 1_000_000;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No successful request within " + TIMEOUT_MS + " ms");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.model.User;
+import com.budgetwise.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Only the health check is public; metrics need an ADMIN token.
+ */
+@BehaviourTest
+@AutoConfigureMockMvc
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	void prometheusNeedsAnAdmin() throws Exception {
+		mvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().is4xxClientError());
+
+		mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("USER")))
+				.andExpect(status().isForbidden());
+
+		mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("ADMIN")))
+				.andExpect(status().isOk());
+	}
+
+	private String bearer(String role) {
+		User user = User.builder()
+				.id(8001L)
+				.email("metrics-" + role.toLowerCase() + "@example.com")
+				.role(role)
+				.build();
+		return "Bearer " + jwtUtil.generateToken(user);
+	}
+}
@@ -0,0 +1,30 @@
+package com.budgetwise.budgetwise_backend;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Full application context on the shared in-memory "behaviour" database.
+ *
+ * Every class using it gets the same cached context, so the database is
+ * shared too: tests work on users from {@link Fixtures#user}, which are
+ * unique per call, and assert only on those users' rows. The daily
+ * recurring run is switched off so no scheduled job writes in between.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:sqlite:file:behaviour?mode=memory&cache=shared",
+		"spring.jpa.show-sql=false",
+		"budgetwise.recurring.cron=-"
+})
+@Import(Fixtures.class)
+public @interface BehaviourTest {
+}
@@ -0,0 +1,119 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.BudgetAlertResponse;
+import com.budgetwise.dto.BudgetRequest;
+import com.budgetwise.dto.ExpenseBatchRequest;
+import com.budgetwise.dto.ExpenseBatchRequest.Op;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.BudgetAlertService;
+import com.budgetwise.service.BudgetService;
+import com.budgetwise.service.ExpenseBatchService;
+import com.budgetwise.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spending that only moves between categories, or a write whose month
+ * nets out below a threshold, must not alert on the overall budget.
+ */
+@BehaviourTest
+class BudgetAlertTests {
+
+	private static final String MONTH = "2025-06";
+	private static final LocalDate DAY = LocalDate.of(2025, 6, 10);
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private ExpenseBatchService batchService;
+
+	@Autowired
+	private BudgetAlertService alertService;
+
+	@Test
+	void movingAnExpenseBetweenCategoriesDoesNotAlertOnTheOverallBudget() {
+		Long userId = fixtures.user("alerts-move");
+		budget(userId);
+
+		Expense food = expenseService.addExpense(expense("Groceries", 5000, "Food"), userId);
+		expenseService.addExpense(expense("Rent", 4500, "Housing"), userId);
+
+		// 95.00 of 100.00 either way
+		expenseService.updateExpense(food.getId(), expense("Groceries", 5000, "Housing"), userId);
+		expenseService.updateExpense(food.getId(), expense("Groceries", 5000, "Food"), userId);
+
+		assertThat(alertService.getUnread(userId)).isEmpty();
+	}
+
+	@Test
+	void mixedBatchIsCheckedOnTheMonthsNetChange() {
+		Long userId = fixtures.user("alerts-batch");
+		budget(userId);
+
+		Expense food = expenseService.addExpense(expense("Groceries", 5000, "Food"), userId);
+		expenseService.addExpense(expense("Rent", 4500, "Housing"), userId);
+
+		// Food -30.00, Housing +20.00: 85.00 after
+		ExpenseBatchRequest.Operation shrink = new ExpenseBatchRequest.Operation();
+		shrink.setOp(Op.UPDATE);
+		shrink.setId(food.getId());
+		shrink.setAmount(2000L);
+
+		ExpenseBatchRequest.Operation create = new ExpenseBatchRequest.Operation();
+		create.setOp(Op.CREATE);
+		create.setTitle("Repairs");
+		create.setAmount(2000L);
+		create.setCategory("Housing");
+		create.setType(TransactionType.EXPENSE);
+		create.setDate(DAY);
+
+		ExpenseBatchRequest batch = new ExpenseBatchRequest();
+		batch.setOperations(List.of(shrink, create));
+		assertThat(batchService.apply(userId, batch).getApplied()).isEqualTo(2);
+
+		assertThat(alertService.getUnread(userId)).isEmpty();
+
+		// A real crossing still alerts: 85.00 + 20.00
+		expenseService.addExpense(expense("Dinner", 2000, "Food"), userId);
+
+		List<BudgetAlertResponse> alerts = alertService.getUnread(userId);
+		assertThat(alerts).singleElement().satisfies(a -> {
+			assertThat(a.getCategory()).isNull();
+			assertThat(a.getThreshold()).isEqualTo(100);
+			assertThat(a.getSpent()).isEqualTo(10500);
+		});
+	}
+
+	// 100.00 overall, alerting at 100% only, no category budgets
+	private void budget(Long userId) {
+		BudgetRequest request = new BudgetRequest();
+		request.setMonth(MONTH);
+		request.setTotalBudget(10000);
+		request.setCategories(List.of());
+		request.setAlertThresholds(List.of(100));
+		budgetService.saveBudget(userId, request);
+	}
+
+	private static Expense expense(String title, long amount, String category) {
+		Expense e = new Expense();
+		e.setTitle(title);
+		e.setAmount(amount);
+		e.setCategory(category);
+		e.setType(TransactionType.EXPENSE);
+		e.setDate(DAY);
+		return e;
+	}
+}
@@ -0,0 +1,106 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.BudgetRangeResponse;
+import com.budgetwise.dto.BudgetRequest;
+import com.budgetwise.dto.BudgetResponse;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.BudgetService;
+import com.budgetwise.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * A range has one summary per month, gaps included: months without a
+ * budget of their own carry the last one forward, months without spending
+ * report 0, and the total is the sum of the months.
+ */
+@BehaviourTest
+class BudgetRangeTests {
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Test
+	void rangeCoversMonthsWithoutBudgetsOrSpending() {
+		Long userId = fixtures.user("range-gaps");
+		budget(userId, "2024-12", 10000);
+		budget(userId, "2025-03", 30000);
+		expense(userId, TransactionType.EXPENSE, 2500, LocalDate.of(2025, 1, 15));
+		expense(userId, TransactionType.INCOME, 99999, LocalDate.of(2025, 1, 31));
+		expense(userId, TransactionType.EXPENSE, 4000, LocalDate.of(2025, 3, 1));
+		expense(userId, TransactionType.EXPENSE, 1000, LocalDate.of(2025, 3, 31));
+		// Outside the range on both sides
+		expense(userId, TransactionType.EXPENSE, 700, LocalDate.of(2024, 12, 31));
+		expense(userId, TransactionType.EXPENSE, 800, LocalDate.of(2025, 5, 1));
+
+		BudgetRangeResponse range = budgetService.getBudgetRange(userId, "2025-01", "2025-04");
+
+		assertThat(range.getMonths())
+				.extracting(BudgetResponse::getMonth, m -> m.getOverall().getBudget(), m -> m.getOverall().getSpent())
+				.containsExactly(
+						tuple("2025-01", 10000L, 2500L),
+						tuple("2025-02", 10000L, 0L),
+						tuple("2025-03", 30000L, 5000L),
+						tuple("2025-04", 30000L, 0L)
+				);
+		assertThat(range.getTotal().getBudget()).isEqualTo(80000);
+		assertThat(range.getTotal().getSpent()).isEqualTo(7500);
+		assertThat(range.getTotal().getRemaining()).isEqualTo(72500);
+
+		// Each month agrees with its single-month summary
+		for (BudgetResponse month : range.getMonths()) {
+			assertThat(budgetService.getBudgetSummary(userId, month.getMonth()).getOverall())
+					.isEqualTo(month.getOverall());
+		}
+	}
+
+	@Test
+	void monthsBeforeTheFirstBudgetCountAgainstNothing() {
+		Long userId = fixtures.user("range-before");
+		budget(userId, "2025-02", 5000);
+		expense(userId, TransactionType.EXPENSE, 1200, LocalDate.of(2025, 1, 10));
+
+		BudgetRangeResponse range = budgetService.getBudgetRange(userId, "2024-12", "2025-02");
+
+		assertThat(range.getMonths())
+				.extracting(BudgetResponse::getMonth, m -> m.getOverall().getBudget(), m -> m.getOverall().getSpent())
+				.containsExactly(
+						tuple("2024-12", 0L, 0L),
+						tuple("2025-01", 0L, 1200L),
+						tuple("2025-02", 5000L, 0L)
+				);
+		assertThat(range.getTotal().getBudget()).isEqualTo(5000);
+		assertThat(range.getTotal().getSpent()).isEqualTo(1200);
+	}
+
+	private void budget(Long userId, String month, long total) {
+		BudgetRequest request = new BudgetRequest();
+		request.setMonth(month);
+		request.setTotalBudget(total);
+		request.setCategories(List.of());
+		budgetService.saveBudget(userId, request);
+	}
+
+	private void expense(Long userId, TransactionType type, long amount, LocalDate date) {
+		Expense e = new Expense();
+		e.setTitle(type == TransactionType.INCOME ? "Salary" : "Groceries");
+		e.setAmount(amount);
+		e.setCategory("Food");
+		e.setType(type);
+		e.setDate(date);
+		expenseService.addExpense(e, userId);
+	}
+}
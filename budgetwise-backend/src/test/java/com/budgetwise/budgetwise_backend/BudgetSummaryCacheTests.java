@@ -0,0 +1,157 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.BudgetRequest;
+import com.budgetwise.dto.BudgetResponse;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.BudgetService;
+import com.budgetwise.service.BudgetSummaryCache;
+import com.budgetwise.service.ExpenseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cached summaries survive reads and unrelated writes, and are recomputed
+ * once a write touches their month or the budget they carry forward.
+ */
+@BehaviourTest
+class BudgetSummaryCacheTests {
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Test
+	void expenseWritesInvalidateOnlyTheirMonth() {
+		Long userId = fixtures.user("cache-expense");
+		budget(userId, "2025-01", 10000);
+
+		BudgetResponse jan = budgetService.getBudgetSummary(userId, "2025-01");
+		BudgetResponse feb = budgetService.getBudgetSummary(userId, "2025-02");
+		assertThat(budgetService.getBudgetSummary(userId, "2025-01")).isSameAs(jan);
+
+		Expense e = expenseService.addExpense(expense(2500, LocalDate.of(2025, 2, 14)), userId);
+
+		assertThat(budgetService.getBudgetSummary(userId, "2025-01")).isSameAs(jan);
+		assertThat(budgetService.getBudgetSummary(userId, "2025-02"))
+				.isNotSameAs(feb)
+				.satisfies(s -> assertThat(s.getOverall().getSpent()).isEqualTo(2500));
+
+		// A move invalidates the month it left and the month it joined
+		feb = budgetService.getBudgetSummary(userId, "2025-02");
+		expenseService.updateExpense(e.getId(), expense(2500, LocalDate.of(2025, 1, 20)), userId);
+
+		assertThat(budgetService.getBudgetSummary(userId, "2025-01").getOverall().getSpent()).isEqualTo(2500);
+		assertThat(budgetService.getBudgetSummary(userId, "2025-02"))
+				.isNotSameAs(feb)
+				.satisfies(s -> assertThat(s.getOverall().getSpent()).isZero());
+	}
+
+	@Test
+	void budgetWritesInvalidateTheMonthsThatCarryThemForward() {
+		Long userId = fixtures.user("cache-budget");
+		budget(userId, "2025-01", 10000);
+		budget(userId, "2025-04", 40000);
+
+		BudgetResponse jan = budgetService.getBudgetSummary(userId, "2025-01");
+		BudgetResponse mar = budgetService.getBudgetSummary(userId, "2025-03");
+		BudgetResponse apr = budgetService.getBudgetSummary(userId, "2025-04");
+		assertThat(mar.getOverall().getBudget()).isEqualTo(10000);
+
+		// January's budget is in effect until April's
+		budget(userId, "2025-01", 20000);
+
+		assertThat(budgetService.getBudgetSummary(userId, "2025-01"))
+				.isNotSameAs(jan)
+				.satisfies(s -> assertThat(s.getOverall().getBudget()).isEqualTo(20000));
+		assertThat(budgetService.getBudgetSummary(userId, "2025-03"))
+				.isNotSameAs(mar)
+				.satisfies(s -> assertThat(s.getOverall().getBudget()).isEqualTo(20000));
+		assertThat(budgetService.getBudgetSummary(userId, "2025-04")).isSameAs(apr);
+
+		// Deleting April's budget hands April and later back to January's
+		budgetService.getBudgetSummary(userId, "2025-06");
+		budgetService.deleteBudget(userId, "2025-04");
+
+		assertThat(budgetService.getBudgetSummary(userId, "2025-04").getOverall().getBudget()).isEqualTo(20000);
+		assertThat(budgetService.getBudgetSummary(userId, "2025-06").getOverall().getBudget()).isEqualTo(20000);
+	}
+
+	@Test
+	void readOverlappingAnInvalidationIsNotStored() {
+		BudgetSummaryCache cache = new BudgetSummaryCache(2, 300, new SimpleMeterRegistry());
+		AtomicInteger computes = new AtomicInteger();
+
+		cache.get(1L, "2025-01", () -> {
+			computes.incrementAndGet();
+			// Written while the summary was computed
+			cache.invalidateMonth(1L, "2025-01");
+			return summary();
+		});
+		cache.get(1L, "2025-01", () -> summary(computes));
+
+		assertThat(computes).hasValue(2);
+	}
+
+	@Test
+	void forgettingAnEpochStillKeepsOverlappingReadsOut() {
+		BudgetSummaryCache cache = new BudgetSummaryCache(2, 300, new SimpleMeterRegistry());
+		AtomicInteger computes = new AtomicInteger();
+
+		cache.get(1L, "2025-01", () -> {
+			computes.incrementAndGet();
+			cache.invalidateMonth(1L, "2025-01");
+			// More users than the cache holds: user 1's epoch is forgotten
+			cache.invalidateMonth(2L, "2025-01");
+			cache.invalidateMonth(3L, "2025-01");
+			cache.invalidateMonth(4L, "2025-01");
+			return summary();
+		});
+		cache.get(1L, "2025-01", () -> summary(computes));
+
+		assertThat(computes).hasValue(2);
+
+		// Later reads are cached as usual
+		cache.get(1L, "2025-01", () -> summary(computes));
+		assertThat(computes).hasValue(2);
+	}
+
+	private static BudgetResponse summary(AtomicInteger computes) {
+		computes.incrementAndGet();
+		return summary();
+	}
+
+	private static BudgetResponse summary() {
+		return BudgetResponse.builder().month("2025-01").categories(List.of()).build();
+	}
+
+	private void budget(Long userId, String month, long total) {
+		BudgetRequest request = new BudgetRequest();
+		request.setMonth(month);
+		request.setTotalBudget(total);
+		request.setCategories(List.of());
+		budgetService.saveBudget(userId, request);
+	}
+
+	private static Expense expense(long amount, LocalDate date) {
+		Expense e = new Expense();
+		e.setTitle("Groceries");
+		e.setAmount(amount);
+		e.setCategory("Food");
+		e.setType(TransactionType.EXPENSE);
+		e.setDate(date);
+		return e;
+	}
+}
@@ -1,9 +1,9 @@
 package com.budgetwise.budgetwise_backend;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// On the in-memory test database, never the budgetwise.db file in the working directory
+@BehaviourTest
 class BudgetwiseBackendApplicationTests {
 
 	@Test
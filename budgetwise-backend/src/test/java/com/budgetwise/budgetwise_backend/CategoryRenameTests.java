@@ -0,0 +1,70 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.ExpenseFilter;
+import com.budgetwise.dto.ExpenseResponse;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.CategoryDictionary;
+import com.budgetwise.service.CategoryService;
+import com.budgetwise.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A rename replaces the cached name: the dictionary and everything read
+ * through it show the new name, and the old one is free again.
+ */
+@BehaviourTest
+class CategoryRenameTests {
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private CategoryDictionary dictionary;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Test
+	void dictionaryServesTheNewNameAfterARename() {
+		Long userId = fixtures.user("category-rename");
+		Long id = add(userId, "Food").getCategoryId();
+
+		// Both directions cached under the old name
+		assertThat(dictionary.name(id)).isEqualTo("Food");
+		assertThat(dictionary.find(userId, "Food")).isEqualTo(id);
+
+		categoryService.rename(userId, id, "Groceries");
+
+		assertThat(dictionary.name(id)).isEqualTo("Groceries");
+		assertThat(dictionary.find(userId, "Groceries")).isEqualTo(id);
+		assertThat(dictionary.find(userId, "Food")).isNull();
+		assertThat(expenses(userId)).extracting(ExpenseResponse::getCategory).containsExactly("Groceries");
+
+		// The old name is a new category now
+		assertThat(add(userId, "Food").getCategoryId()).isNotEqualTo(id);
+	}
+
+	private Expense add(Long userId, String category) {
+		Expense e = new Expense();
+		e.setTitle("Lunch");
+		e.setAmount(1250);
+		e.setCategory(category);
+		e.setType(TransactionType.EXPENSE);
+		e.setDate(LocalDate.of(2025, 4, 1));
+		return expenseService.addExpense(e, userId);
+	}
+
+	private List<ExpenseResponse> expenses(Long userId) {
+		return expenseService.getExpenses(userId, new ExpenseFilter()).getItems();
+	}
+}
@@ -0,0 +1,159 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.controller.ChangeFeedController;
+import com.budgetwise.dto.ChangeEvent;
+import com.budgetwise.security.AuthenticatedUser;
+import com.budgetwise.service.ChangeFeed;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * A client that falls further behind than its buffer holds loses the
+ * pending events and gets one "resync" in their place; events published
+ * after that reach it as usual.
+ */
+class ChangeFeedTests {
+
+	private static final long USER = 7001L;
+
+	// Held by the sender while it serialises an event, so later events pile up
+	public static class Slow {
+
+		private final CountDownLatch release;
+
+		Slow(CountDownLatch release) {
+			this.release = release;
+		}
+
+		public String getValue() throws InterruptedException {
+			release.await(10, TimeUnit.SECONDS);
+			return "slow";
+		}
+	}
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	// One sender thread and room for two pending events
+	private final ChangeFeed feed = new ChangeFeed(registry, 1, 2, 5, 10, 60000);
+
+	private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new ChangeFeedController(feed)).build();
+
+	@BeforeEach
+	void signIn() {
+		AuthenticatedUser user = new AuthenticatedUser(USER, "feed@example.com", "USER");
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, user.authorities())
+		);
+	}
+
+	@AfterEach
+	void signOut() {
+		SecurityContextHolder.clearContext();
+		feed.destroy();
+	}
+
+	@Test
+	void overflowIsReplacedByOneResync() throws Exception {
+		MvcResult stream = mvc.perform(get("/api/events")).andExpect(request().asyncStarted()).andReturn();
+		awaitContent(stream, "event:ready");
+
+		CountDownLatch release = new CountDownLatch(1);
+		feed.publish(USER, event(1L, new Slow(release)));
+		awaitSenderBusy();
+
+		// Two fit the buffer, the third overflows it and all three are dropped
+		feed.publish(USER, event(2L, null));
+		feed.publish(USER, event(3L, null));
+		feed.publish(USER, event(4L, null));
+		release.countDown();
+
+		feed.publish(USER, event(5L, null));
+		awaitContent(stream, "\"id\":5");
+
+		String content = stream.getResponse().getContentAsString();
+		assertThat(changeIds(stream)).containsExactly(1L, 5L);
+		assertThat(content).containsOnlyOnce("event:resync");
+		assertThat(content.indexOf("event:resync")).isLessThan(content.indexOf("\"id\":5"));
+		assertThat(registry.get("budgetwise.events.resyncs").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void eventsForOtherUsersAreNotDelivered() throws Exception {
+		MvcResult stream = mvc.perform(get("/api/events")).andExpect(request().asyncStarted()).andReturn();
+		awaitContent(stream, "event:ready");
+
+		feed.publish(USER + 1, event(1L, null));
+		feed.publish(USER, event(2L, null));
+		awaitContent(stream, "\"id\":2");
+
+		assertThat(changeIds(stream)).containsExactly(2L);
+	}
+
+	private static ChangeEvent event(Long id, Object data) {
+		return ChangeEvent.builder()
+				.entity(ChangeEvent.Entity.EXPENSE)
+				.action(ChangeEvent.Action.UPDATED)
+				.id(id)
+				.data(data)
+				.build();
+	}
+
+	// Until the sender is inside Slow.getValue, events could still be drained one by one
+	private void awaitSenderBusy() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < deadline) {
+			boolean blocked = Thread.getAllStackTraces().entrySet().stream().anyMatch(e ->
+					e.getKey().getName().startsWith("change-feed-")
+							&& Arrays.stream(e.getValue()).anyMatch(f -> f.getMethodName().equals("getValue")));
+			if (blocked) {
+				return;
+			}
+			Thread.sleep(5);
+		}
+		throw new AssertionError("Sender never picked up the first event");
+	}
+
+	private static void awaitContent(MvcResult stream, String text) throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!stream.getResponse().getContentAsString().contains(text)) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("Stream never contained " + text + ": "
+						+ stream.getResponse().getContentAsString());
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	// ids of the "change" events in the order they were written
+	private static List<Long> changeIds(MvcResult stream) throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (String block : stream.getResponse().getContentAsString().split("\n\n")) {
+			if (block.contains("event:change")) {
+				int at = block.indexOf("\"id\":") + 5;
+				int end = at;
+				while (end < block.length() && Character.isDigit(block.charAt(end))) {
+					end++;
+				}
+				ids.add(Long.valueOf(block.substring(at, end)));
+			}
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,90 @@
+package com.budgetwise.budgetwise_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read endpoints answer a current If-None-Match with an empty 304; a write
+ * or a different query gets a new ETag.
+ */
+@BehaviourTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Test
+	void repeatedGetIsNotModified() throws Exception {
+		String token = fixtures.bearer(fixtures.user("etag-repeat"));
+		String etag = etag(token, "/api/expenses");
+
+		mvc.perform(get("/api/expenses")
+						.header(HttpHeaders.AUTHORIZATION, token)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void writeChangesTheTag() throws Exception {
+		String token = fixtures.bearer(fixtures.user("etag-write"));
+		String before = etag(token, "/api/expenses");
+
+		mvc.perform(post("/api/expenses")
+						.header(HttpHeaders.AUTHORIZATION, token)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"title": "Lunch", "amount": 1250, "type": "EXPENSE", "date": "2025-04-01"}
+								"""))
+				.andExpect(status().isOk());
+
+		String after = mvc.perform(get("/api/expenses")
+						.header(HttpHeaders.AUTHORIZATION, token)
+						.header(HttpHeaders.IF_NONE_MATCH, before))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Lunch")))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(after).isNotNull().isNotEqualTo(before);
+	}
+
+	@Test
+	void queryStringIsPartOfTheTag() throws Exception {
+		String token = fixtures.bearer(fixtures.user("etag-query"));
+
+		String expenses = etag(token, "/api/expenses?type=EXPENSE");
+		String income = etag(token, "/api/expenses?type=INCOME");
+
+		assertThat(expenses).isNotEqualTo(income);
+
+		// Each tag still only matches its own query
+		mvc.perform(get("/api/expenses?type=INCOME")
+						.header(HttpHeaders.AUTHORIZATION, token)
+						.header(HttpHeaders.IF_NONE_MATCH, expenses))
+				.andExpect(status().isOk());
+	}
+
+	private String etag(String token, String uri) throws Exception {
+		String etag = mvc.perform(get(uri).header(HttpHeaders.AUTHORIZATION, token))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(etag).isNotNull();
+		return etag;
+	}
+}
@@ -0,0 +1,169 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.ExpenseBatchRequest;
+import com.budgetwise.dto.ExpenseBatchRequest.Op;
+import com.budgetwise.dto.ExpenseBatchRequest.Operation;
+import com.budgetwise.dto.ExpenseBatchResult;
+import com.budgetwise.dto.ExpenseBatchResult.OperationResult;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.repository.ExpenseRepository;
+import com.budgetwise.service.ExpenseBatchService;
+import com.budgetwise.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * A batch only ever touches the caller's own expenses, each at most once;
+ * rejected operations are reported and the rest still apply.
+ */
+@BehaviourTest
+class ExpenseBatchTests {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 5, 3);
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private ExpenseBatchService batchService;
+
+	@Autowired
+	private ExpenseRepository expenses;
+
+	@Test
+	void otherUsersExpensesAreNotFound() {
+		Long owner = fixtures.user("batch-owner");
+		Long intruder = fixtures.user("batch-intruder");
+		Expense theirs = expenseService.addExpense(expense("Rent", 90000), owner);
+		Expense mine = expenseService.addExpense(expense("Coffee", 300), intruder);
+
+		ExpenseBatchResult result = batchService.apply(intruder, batch(
+				update(theirs.getId(), 1L),
+				delete(theirs.getId()),
+				update(mine.getId(), 350L)
+		));
+
+		assertThat(result.getApplied()).isEqualTo(1);
+		assertThat(result.getFailed()).isEqualTo(2);
+		assertThat(result.getResults()).extracting(OperationResult::getIndex, OperationResult::getError).containsExactly(
+				tuple(0, "Expense not found"),
+				tuple(1, "Expense not found"),
+				tuple(2, null)
+		);
+
+		assertThat(expenses.findByIdAndUserId(theirs.getId(), owner))
+				.hasValueSatisfying(e -> assertThat(e.getAmount()).isEqualTo(90000));
+		assertThat(expenses.findByIdAndUserId(mine.getId(), intruder))
+				.hasValueSatisfying(e -> assertThat(e.getAmount()).isEqualTo(350));
+	}
+
+	@Test
+	void anExpenseIsChangedAtMostOncePerBatch() {
+		Long userId = fixtures.user("batch-duplicates");
+		Expense lunch = expenseService.addExpense(expense("Lunch", 1200), userId);
+
+		ExpenseBatchResult result = batchService.apply(userId, batch(
+				update(lunch.getId(), 1500L),
+				delete(lunch.getId()),
+				update(lunch.getId(), 9900L)
+		));
+
+		assertThat(result.getApplied()).isEqualTo(1);
+		assertThat(result.getResults()).extracting(OperationResult::getError).containsExactly(
+				null,
+				"Expense already changed by an earlier operation in this batch",
+				"Expense already changed by an earlier operation in this batch"
+		);
+		assertThat(expenses.findByIdAndUserId(lunch.getId(), userId))
+				.hasValueSatisfying(e -> assertThat(e.getAmount()).isEqualTo(1500));
+	}
+
+	@Test
+	void invalidOperationsAreReportedAndTheRestApply() {
+		Long userId = fixtures.user("batch-invalid");
+
+		Operation create = new Operation();
+		create.setOp(Op.CREATE);
+		create.setTitle(" Bus ");
+		create.setAmount(250L);
+		create.setType(TransactionType.EXPENSE);
+		create.setDate(DAY);
+
+		Operation untitled = new Operation();
+		untitled.setOp(Op.CREATE);
+		untitled.setAmount(250L);
+		untitled.setType(TransactionType.EXPENSE);
+		untitled.setDate(DAY);
+
+		ExpenseBatchResult result = batchService.apply(userId, batch(
+				create, untitled, update(null, 100L), update(12345678L, -1L), null
+		));
+
+		assertThat(result.getResults()).extracting(OperationResult::getError).containsExactly(
+				null,
+				"title is required",
+				"id is required",
+				"amount must be a positive number",
+				"op must be CREATE, UPDATE or DELETE"
+		);
+		assertThat(result.getResults().get(0).getExpense().getTitle()).isEqualTo("Bus");
+	}
+
+	@Test
+	void oversizedBatchIsRejectedWhole() {
+		Long userId = fixtures.user("batch-oversized");
+		List<Operation> ops = new ArrayList<>();
+		for (int i = 0; i < 501; i++) {
+			ops.add(delete((long) i));
+		}
+
+		ExpenseBatchRequest request = new ExpenseBatchRequest();
+		request.setOperations(ops);
+
+		assertThatThrownBy(() -> batchService.apply(userId, request))
+				.hasMessage("A batch is limited to 500 operations");
+	}
+
+	private static ExpenseBatchRequest batch(Operation... ops) {
+		ExpenseBatchRequest request = new ExpenseBatchRequest();
+		request.setOperations(Arrays.asList(ops));
+		return request;
+	}
+
+	private static Operation update(Long id, Long amount) {
+		Operation op = new Operation();
+		op.setOp(Op.UPDATE);
+		op.setId(id);
+		op.setAmount(amount);
+		return op;
+	}
+
+	private static Operation delete(Long id) {
+		Operation op = new Operation();
+		op.setOp(Op.DELETE);
+		op.setId(id);
+		return op;
+	}
+
+	private static Expense expense(String title, long amount) {
+		Expense e = new Expense();
+		e.setTitle(title);
+		e.setAmount(amount);
+		e.setType(TransactionType.EXPENSE);
+		e.setDate(DAY);
+		return e;
+	}
+}
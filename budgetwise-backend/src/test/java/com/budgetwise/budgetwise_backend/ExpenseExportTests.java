@@ -0,0 +1,130 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.ExpenseFilter;
+import com.budgetwise.dto.ExpenseResponse;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.Money;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The streamed export carries exactly the user's rows, oldest first, in
+ * both formats.
+ */
+@BehaviourTest
+@AutoConfigureMockMvc
+class ExpenseExportTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void exportMatchesTheStoredRows() throws Exception {
+		Long userId = fixtures.user("export");
+		add(userId, "Coffee, beans", 1250, "Food", TransactionType.EXPENSE, LocalDate.of(2025, 4, 3));
+		add(userId, "Salary", 300000, null, TransactionType.INCOME, LocalDate.of(2025, 4, 1));
+		add(userId, "Said \"hi\"", 99, "Gifts", TransactionType.EXPENSE, LocalDate.of(2025, 3, 30));
+		add(userId, "Rent", 90000, "Home", TransactionType.EXPENSE, LocalDate.of(2025, 4, 1));
+		// Someone else's row never shows up
+		add(fixtures.user("export-other"), "Not mine", 1, null, TransactionType.EXPENSE, LocalDate.of(2025, 4, 2));
+
+		List<ExpenseResponse> stored = stored(userId);
+		assertThat(stored).hasSize(4);
+		String token = fixtures.bearer(userId);
+
+		List<String> csv = export(token, "csv").lines().toList();
+		assertThat(csv.get(0)).isEqualTo("id,date,title,type,category,amount");
+		assertThat(csv.subList(1, csv.size())).containsExactlyElementsOf(
+				stored.stream().map(ExpenseExportTests::csvLine).toList());
+
+		List<JsonNode> ndjson = export(token, "ndjson").lines()
+				.filter(line -> !line.isBlank())
+				.map(objectMapper::readTree)
+				.toList();
+		assertThat(ndjson).hasSameSizeAs(stored);
+		for (int i = 0; i < stored.size(); i++) {
+			ExpenseResponse row = stored.get(i);
+			JsonNode line = ndjson.get(i);
+			assertThat(line.get("id").asLong()).isEqualTo(row.getId());
+			assertThat(line.get("date").asString()).isEqualTo(row.getDate().toString());
+			assertThat(line.get("title").asString()).isEqualTo(row.getTitle());
+			assertThat(line.get("type").asString()).isEqualTo(row.getType());
+			assertThat(line.get("category").isNull() ? null : line.get("category").asString())
+					.isEqualTo(row.getCategory());
+			assertThat(line.get("amount").decimalValue()).isEqualByComparingTo(Money.toDecimal(row.getAmount()));
+		}
+	}
+
+	private String export(String token, String format) throws Exception {
+		MvcResult started = mvc.perform(get("/api/expenses/export")
+						.param("format", format)
+						.header(HttpHeaders.AUTHORIZATION, token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		return mvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+	}
+
+	// Read back through the paged API, in the export's order
+	private List<ExpenseResponse> stored(Long userId) {
+		ExpenseFilter filter = new ExpenseFilter();
+		filter.setLimit(100);
+		return expenseService.getExpenses(userId, filter).getItems().stream()
+				.sorted(Comparator.comparing(ExpenseResponse::getDate).thenComparing(ExpenseResponse::getId))
+				.toList();
+	}
+
+	private static String csvLine(ExpenseResponse row) {
+		return row.getId() + "," + row.getDate() + "," + csv(row.getTitle()) + "," + row.getType()
+				+ "," + csv(row.getCategory()) + "," + Money.format(row.getAmount());
+	}
+
+	private static String csv(String value) {
+		if (value == null) {
+			return "";
+		}
+		return value.contains(",") || value.contains("\"")
+				? '"' + value.replace("\"", "\"\"") + '"'
+				: value;
+	}
+
+	private void add(Long userId, String title, long amount, String category, TransactionType type, LocalDate date) {
+		Expense e = new Expense();
+		e.setTitle(title);
+		e.setAmount(amount);
+		e.setCategory(category);
+		e.setType(type);
+		e.setDate(date);
+		expenseService.addExpense(e, userId);
+	}
+}
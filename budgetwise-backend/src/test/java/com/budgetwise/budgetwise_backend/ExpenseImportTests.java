@@ -0,0 +1,195 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.ImportResult;
+import com.budgetwise.dto.ImportResult.RowError;
+import com.budgetwise.model.Expense;
+import com.budgetwise.repository.UserRepository;
+import com.budgetwise.service.CategoryDictionary;
+import com.budgetwise.service.ChangeFeed;
+import com.budgetwise.service.ExpenseImportService;
+import com.budgetwise.service.RollupService;
+import com.budgetwise.service.UserDataVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Row validation, the row limit and chunk failures of the CSV/JSON import.
+ * The service is built here with small chunks so every path is reachable.
+ */
+@BehaviourTest
+class ExpenseImportTests {
+
+	private static final String HEADER = "title,amount,category,type,date\n";
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private UserRepository users;
+
+	@Autowired
+	private RollupService rollupService;
+
+	@Autowired
+	private UserDataVersions dataVersions;
+
+	@Autowired
+	private CategoryDictionary categoryDictionary;
+
+	@Autowired
+	private ChangeFeed changeFeed;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void invalidRowsAreReportedAndSkipped() throws IOException {
+		Long userId = fixtures.user("import-validation");
+
+		ImportResult result = service(2, 100).importCsv(userId, body(HEADER
+				+ "Lunch,12.50,Food,expense,2025-04-02\n"
+				+ ",3.00,Food,EXPENSE,2025-04-02\n"
+				+ "Taxi,abc,Travel,EXPENSE,2025-04-02\n"
+				+ "Refund,-5,,EXPENSE,2025-04-02\n"
+				+ "Gift,10,,PRESENT,2025-04-02\n"
+				+ "Bus,2,Travel,EXPENSE,02/04/2025\n"
+				+ "\n"
+				+ "\"Salary, April\",1000,,INCOME,2025-04-01\n"));
+
+		assertThat(result.getImported()).isEqualTo(2);
+		assertThat(result.getFailed()).isEqualTo(5);
+		assertThat(result.getErrors()).extracting(RowError::getRow, RowError::getMessage).containsExactly(
+				tuple(2L, "title is required"),
+				tuple(3L, "amount is not a number: abc"),
+				tuple(4L, "amount must be a positive number"),
+				tuple(5L, "type must be INCOME or EXPENSE"),
+				tuple(6L, "date must be YYYY-MM-DD: 02/04/2025")
+		);
+
+		assertThat(jdbc.queryForList(
+				"select title from expenses where user_id = ? order by title", String.class, userId
+		)).containsExactly("Lunch", "Salary, April");
+		assertThat(expenseTotal(userId)).isEqualTo(1250);
+	}
+
+	@Test
+	void rowsBeyondTheLimitAreSkipped() throws IOException {
+		Long userId = fixtures.user("import-limit");
+
+		StringBuilder body = new StringBuilder(HEADER);
+		for (int i = 1; i <= 7; i++) {
+			body.append("Row ").append(i).append(",1,,EXPENSE,2025-04-0").append(i).append('\n');
+		}
+
+		ImportResult result = service(2, 5).importCsv(userId, body(body.toString()));
+
+		assertThat(result.getImported()).isEqualTo(5);
+		assertThat(result.getFailed()).isEqualTo(1);
+		assertThat(result.getErrors()).singleElement().satisfies(e -> {
+			assertThat(e.getRow()).isEqualTo(6);
+			assertThat(e.getMessage()).isEqualTo("Row limit of 5 reached, remaining rows skipped");
+		});
+		assertThat(expenseTotal(userId)).isEqualTo(500);
+	}
+
+	@Test
+	void failedChunkLeavesNothingBehind() throws IOException {
+		Long userId = fixtures.user("import-chunk");
+
+		// Chunks of two: the second one fails while it is written
+		ImportResult result = service(2, 100).importJson(userId, body("""
+				{"title":"A","amount":1,"category":"Food","type":"EXPENSE","date":"2025-04-01"}
+				{"title":"B","amount":2,"category":"Food","type":"EXPENSE","date":"2025-04-01"}
+				{"title":"explode","amount":3,"category":"Doomed","type":"EXPENSE","date":"2025-04-01"}
+				{"title":"D","amount":4,"category":"Doomed","type":"EXPENSE","date":"2025-04-01"}
+				{"title":"E","amount":5,"category":"Food","type":"EXPENSE","date":"2025-04-01"}
+				"""));
+
+		assertThat(result.getImported()).isEqualTo(3);
+		assertThat(result.getFailed()).isEqualTo(2);
+		assertThat(result.getErrors()).extracting(RowError::getRow).containsExactly(3L, 4L);
+		assertThat(result.getErrors()).allSatisfy(e ->
+				assertThat(e.getMessage()).startsWith("Chunk write failed:"));
+
+		assertThat(jdbc.queryForList(
+				"select title from expenses where user_id = ? order by title", String.class, userId
+		)).containsExactly("A", "B", "E");
+		assertThat(expenseTotal(userId)).isEqualTo(800);
+		assertThat(categoryDictionary.find(userId, "Doomed")).isNull();
+	}
+
+	@Test
+	void malformedCsvStopsTheImportAfterWhatWasRead() throws IOException {
+		Long userId = fixtures.user("import-malformed");
+
+		ImportResult result = service(2, 100).importCsv(userId, body(HEADER
+				+ "Lunch,12.50,Food,EXPENSE,2025-04-02\n"
+				+ "\"Dinner,20,Food,EXPENSE,2025-04-02\n"));
+
+		assertThat(result.getImported()).isEqualTo(1);
+		assertThat(result.getErrors()).singleElement().satisfies(e -> {
+			assertThat(e.getRow()).isEqualTo(2);
+			assertThat(e.getMessage()).startsWith("Malformed CSV, import stopped");
+		});
+	}
+
+	private ExpenseImportService service(int chunkSize, int maxRows) {
+		return new ExpenseImportService(
+				users, rollupService, dataVersions, categoryDictionary, changeFeed,
+				new FailingJdbcTemplate(dataSource), transactionTemplate, objectMapper,
+				chunkSize, maxRows, 100
+		);
+	}
+
+	// Fails the batch insert of any chunk holding an "explode" row
+	static class FailingJdbcTemplate extends JdbcTemplate {
+
+		FailingJdbcTemplate(DataSource dataSource) {
+			super(dataSource);
+		}
+
+		@Override
+		public <T> int[][] batchUpdate(
+				String sql, Collection<T> batchArgs, int batchSize, ParameterizedPreparedStatementSetter<T> pss
+		) {
+			if (batchArgs.stream().anyMatch(a -> a instanceof Expense e && "explode".equals(e.getTitle()))) {
+				throw new IllegalStateException("disk full");
+			}
+			return super.batchUpdate(sql, batchArgs, batchSize, pss);
+		}
+	}
+
+	private long expenseTotal(Long userId) {
+		Long total = jdbc.queryForObject(
+				"select sum(total_minor) from monthly_category_totals where user_id = ? and type = 'EXPENSE'",
+				Long.class, userId
+		);
+		return total == null ? 0 : total;
+	}
+
+	private static ByteArrayInputStream body(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
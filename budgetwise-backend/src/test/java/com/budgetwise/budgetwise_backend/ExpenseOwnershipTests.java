@@ -0,0 +1,73 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Someone else's expense id is treated as missing: 404, and the row is
+ * left exactly as it was.
+ */
+@BehaviourTest
+@AutoConfigureMockMvc
+class ExpenseOwnershipTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void foreignExpenseCannotBeUpdatedOrDeleted() throws Exception {
+		Long owner = fixtures.user("ownership-owner");
+		String intruder = fixtures.bearer(fixtures.user("ownership-intruder"));
+
+		Expense e = new Expense();
+		e.setTitle("Rent");
+		e.setAmount(90000);
+		e.setType(TransactionType.EXPENSE);
+		e.setDate(LocalDate.of(2025, 4, 1));
+		Long id = expenseService.addExpense(e, owner).getId();
+		Map<String, Object> before = row(id);
+
+		mvc.perform(put("/api/expenses/" + id)
+						.header(HttpHeaders.AUTHORIZATION, intruder)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"title": "Mine now", "amount": 1, "date": "2025-04-02"}
+								"""))
+				.andExpect(status().isNotFound());
+
+		mvc.perform(delete("/api/expenses/" + id)
+						.header(HttpHeaders.AUTHORIZATION, intruder))
+				.andExpect(status().isNotFound());
+
+		assertThat(row(id)).isEqualTo(before);
+	}
+
+	private Map<String, Object> row(Long id) {
+		return jdbc.queryForMap("select * from expenses where id = ?", id);
+	}
+}
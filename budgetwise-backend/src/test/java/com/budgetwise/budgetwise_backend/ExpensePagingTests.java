@@ -0,0 +1,78 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.ExpenseFilter;
+import com.budgetwise.dto.ExpensePage;
+import com.budgetwise.dto.ExpenseResponse;
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Following nextCursor visits every expense exactly once, newest first,
+ * with undated rows (older data) at the end.
+ */
+@BehaviourTest
+class ExpensePagingTests {
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void undatedRowsArePagedAfterTheDatedOnes() {
+		Long userId = fixtures.user("paging-undated");
+		add(userId, "March", LocalDate.of(2025, 3, 1));
+		add(userId, "April", LocalDate.of(2025, 4, 1));
+		add(userId, "April again", LocalDate.of(2025, 4, 1));
+		undated(add(userId, "Old one", LocalDate.of(2025, 1, 1)));
+		undated(add(userId, "Old two", LocalDate.of(2025, 1, 1)));
+		undated(add(userId, "Old three", LocalDate.of(2025, 1, 1)));
+
+		List<String> titles = new ArrayList<>();
+		List<Integer> sizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			ExpenseFilter filter = new ExpenseFilter();
+			filter.setLimit(2);
+			filter.setCursor(cursor);
+
+			ExpensePage page = expenseService.getExpenses(userId, filter);
+			page.getItems().stream().map(ExpenseResponse::getTitle).forEach(titles::add);
+			sizes.add(page.getItems().size());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(titles).containsExactly(
+				"April again", "April", "March", "Old three", "Old two", "Old one"
+		);
+		assertThat(sizes).allMatch(size -> size <= 2);
+	}
+
+	private Expense add(Long userId, String title, LocalDate date) {
+		Expense e = new Expense();
+		e.setTitle(title);
+		e.setAmount(1000);
+		e.setType(TransactionType.EXPENSE);
+		e.setDate(date);
+		return expenseService.addExpense(e, userId);
+	}
+
+	// Rows written before the date was required
+	private void undated(Expense e) {
+		jdbc.update("update expenses set date = null where id = ?", e.getId());
+	}
+}
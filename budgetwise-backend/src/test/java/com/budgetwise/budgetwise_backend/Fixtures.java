@@ -0,0 +1,42 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.model.User;
+import com.budgetwise.repository.UserRepository;
+import com.budgetwise.security.JwtUtil;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test data shared by the {@link BehaviourTest} classes.
+ */
+@TestComponent
+public class Fixtures {
+
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	private final UserRepository users;
+
+	private final JwtUtil jwtUtil;
+
+	Fixtures(UserRepository users, JwtUtil jwtUtil) {
+		this.users = users;
+		this.jwtUtil = jwtUtil;
+	}
+
+	// A new user on every call, even for a name another test already used
+	public Long user(String name) {
+		String unique = name + "-" + SEQUENCE.incrementAndGet();
+		return users.save(User.builder()
+				.name(unique)
+				.email(unique + "@example.com")
+				.password("x")
+				.role("USER")
+				.build()).getId();
+	}
+
+	// Authorization header value for a user made by user()
+	public String bearer(Long userId) {
+		return "Bearer " + jwtUtil.generateToken(users.findById(userId).orElseThrow());
+	}
+}
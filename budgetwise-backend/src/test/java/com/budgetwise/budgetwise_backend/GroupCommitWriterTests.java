@@ -0,0 +1,174 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.config.GroupCommitWriter;
+import com.budgetwise.exception.GlobalExceptionHandler;
+import com.budgetwise.exception.WriterBusyException;
+import com.budgetwise.service.CategoryDictionary;
+import com.budgetwise.service.UserDataVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A unit that fails inside a write group must take its after-commit hooks
+ * down with it, while the other units of the group still get theirs. A
+ * writer that cannot take more work says so with a retryable 503.
+ */
+@BehaviourTest
+class GroupCommitWriterTests {
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CategoryDictionary categoryDictionary;
+
+	@Autowired
+	private UserDataVersions dataVersions;
+
+	private static final List<String> HOOKS = new CopyOnWriteArrayList<>();
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private GroupCommitWriter writer;
+
+	// Each submitter blocks until its unit ran; the common pool may have a single thread
+	private final ExecutorService submitters = Executors.newFixedThreadPool(3);
+
+	@BeforeEach
+	void startWriter() {
+		writer = new GroupCommitWriter(transactionManager, entityManagerFactory, registry, 64, 16, 5000);
+	}
+
+	@AfterEach
+	void stopWriter() throws InterruptedException {
+		submitters.shutdownNow();
+		writer.destroy();
+	}
+
+	@Test
+	void failedUnitLeavesNoAfterCommitEffects() throws Exception {
+		long failing = 9001L;
+		long succeeding = 9002L;
+		String failingTag = dataVersions.tag(failing);
+		String succeedingTag = dataVersions.tag(succeeding);
+		HOOKS.clear();
+
+		// Holds the writer so both units queue up and run as one group
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Object> gate = submit(() -> {
+			release.await();
+			return null;
+		});
+
+		CompletableFuture<Object> failed = submit(() -> {
+			categoryDictionary.idFor(failing, "Ghost");
+			dataVersions.bump(failing);
+			record("failed");
+			throw new IllegalStateException("boom");
+		});
+		CompletableFuture<Object> succeeded = submit(() -> {
+			categoryDictionary.idFor(succeeding, "Kept");
+			dataVersions.bump(succeeding);
+			return record("succeeded");
+		});
+
+		while (registry.get("budgetwise.sqlite.writer.queue").gauge().value() < 2) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		gate.get();
+		succeeded.get();
+		assertThatThrownBy(failed::get).hasRootCauseMessage("boom");
+
+		assertThat(HOOKS).containsExactly("succeeded");
+		assertThat(dataVersions.tag(failing)).isEqualTo(failingTag);
+		assertThat(dataVersions.tag(succeeding)).isNotEqualTo(succeedingTag);
+		assertThat(categoryDictionary.find(failing, "Ghost")).isNull();
+		assertThat(categoryDictionary.find(succeeding, "Kept")).isNotNull();
+	}
+
+	@Test
+	void fullQueueAndShutdownAnswerBusy() throws Exception {
+		// One queued unit at most, and a short wait for room
+		SimpleMeterRegistry smallRegistry = new SimpleMeterRegistry();
+		GroupCommitWriter small = new GroupCommitWriter(
+				transactionManager, entityManagerFactory, smallRegistry, 64, 1, 50);
+
+		CountDownLatch started = new CountDownLatch(1);
+		CompletableFuture<Object> gate = submit(small, () -> {
+			started.countDown();
+			new CountDownLatch(1).await();
+			return null;
+		});
+		started.await();
+		CompletableFuture<Object> queued = submit(small, () -> "never runs");
+		while (smallRegistry.get("budgetwise.sqlite.writer.queue").gauge().value() < 1) {
+			Thread.onSpinWait();
+		}
+
+		assertThatThrownBy(() -> small.submit(() -> "no room"))
+				.isInstanceOf(WriterBusyException.class)
+				.hasMessage("Too many writes queued, try again shortly");
+
+		small.destroy();
+		assertThatThrownBy(queued::get).hasRootCauseInstanceOf(WriterBusyException.class);
+		assertThatThrownBy(gate::get).hasRootCauseInstanceOf(InterruptedException.class);
+		assertThatThrownBy(() -> small.submit(() -> "too late"))
+				.isInstanceOf(WriterBusyException.class)
+				.hasMessage("Writer is shutting down, try again shortly");
+
+		// Clients are asked to come back rather than told the request was bad
+		ResponseEntity<?> response = new GlobalExceptionHandler()
+				.handleWriterBusy(new WriterBusyException("Too many writes queued, try again shortly"));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+	}
+
+	// Registers an after-commit hook that records `name`
+	private static String record(String name) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				HOOKS.add(name);
+			}
+		});
+		return name;
+	}
+
+	private CompletableFuture<Object> submit(GroupCommitWriter.Work<?> work) {
+		return submit(writer, work);
+	}
+
+	private CompletableFuture<Object> submit(GroupCommitWriter to, GroupCommitWriter.Work<?> work) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return to.submit(work);
+			} catch (Throwable t) {
+				throw new RuntimeException(t);
+			}
+		}, submitters);
+	}
+}
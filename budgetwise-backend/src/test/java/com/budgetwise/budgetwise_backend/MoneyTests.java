@@ -0,0 +1,75 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.model.Money;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Decimal amounts in, exact minor units held, the same decimals out.
+ */
+class MoneyTests {
+
+	public static class Amount {
+		@Money.Json
+		public long amount;
+	}
+
+	private final JsonMapper mapper = JsonMapper.builder().build();
+
+	@Test
+	void parsesDecimalsIntoMinorUnits() {
+		assertThat(Money.parse("19.99")).isEqualTo(1999);
+		assertThat(Money.parse(" 1250.5 ")).isEqualTo(125050);
+		assertThat(Money.parse("7")).isEqualTo(700);
+		assertThat(Money.parse("-3.10")).isEqualTo(-310);
+	}
+
+	@Test
+	void roundsExtraDecimalsHalfUp() {
+		assertThat(Money.parse("0.005")).isEqualTo(1);
+		assertThat(Money.parse("0.004")).isEqualTo(0);
+		assertThat(Money.parse("2.675")).isEqualTo(268);
+		assertThat(Money.toMinor(new BigDecimal("1.995"))).isEqualTo(200);
+	}
+
+	@Test
+	void rejectsWhatIsNotAnAmount() {
+		assertThatThrownBy(() -> Money.parse("12,50")).hasMessage("Invalid amount: 12,50");
+		assertThatThrownBy(() -> Money.parse("abc")).hasMessage("Invalid amount: abc");
+		assertThatThrownBy(() -> Money.parse("")).hasMessage("Invalid amount: ");
+		// Beyond a long of minor units
+		assertThatThrownBy(() -> Money.parse("1e30")).hasMessage("Invalid amount: 1e30");
+	}
+
+	@Test
+	void formatsWithTwoDecimals() {
+		assertThat(Money.format(125050)).isEqualTo("1250.50");
+		assertThat(Money.format(5)).isEqualTo("0.05");
+		assertThat(Money.format(-310)).isEqualTo("-3.10");
+	}
+
+	@Test
+	void percentRoundsHalfUpToTwoDecimals() {
+		assertThat(Money.percent(1, 3)).isEqualByComparingTo("33.33");
+		assertThat(Money.percent(2, 3)).isEqualByComparingTo("66.67");
+		assertThat(Money.percent(1, 8)).isEqualByComparingTo("12.50");
+		assertThat(Money.percent(12345, 10000)).isEqualByComparingTo("123.45");
+		assertThat(Money.percent(500, 0)).isEqualTo(new BigDecimal("0.00"));
+	}
+
+	@Test
+	void jsonKeepsTheDecimalContract() {
+		assertThat(mapper.readValue("{\"amount\":1250.5}", Amount.class).amount).isEqualTo(125050);
+		assertThat(mapper.readValue("{\"amount\":\"19.99\"}", Amount.class).amount).isEqualTo(1999);
+		assertThat(mapper.readValue("{\"amount\":0.125}", Amount.class).amount).isEqualTo(13);
+
+		Amount a = new Amount();
+		a.amount = 1999;
+		assertThat(mapper.writeValueAsString(a)).isEqualTo("{\"amount\":19.99}");
+	}
+}
@@ -0,0 +1,126 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.exception.GlobalExceptionHandler;
+import com.budgetwise.exception.PasswordHashingBusyException;
+import com.budgetwise.model.User;
+import com.budgetwise.repository.UserRepository;
+import com.budgetwise.security.BoundedPasswordEncoder;
+import com.budgetwise.security.JwtUtil;
+import com.budgetwise.security.TokenCache;
+import com.budgetwise.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A full hashing queue turns logins away with 429, and a hash made with an
+ * older cost is replaced on the next successful login.
+ */
+@BehaviourTest
+class PasswordHashingTests {
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private UserRepository users;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TokenCache tokenCache;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private Environment environment;
+
+	@Test
+	void fullHashingQueueAnswers429() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder blocking = new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				return rawPassword.toString();
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return false;
+			}
+		};
+
+		// One hashing thread, one queued hash
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, registry);
+		AuthService service = new AuthService(users, encoder, jwtUtil, tokenCache, transactionTemplate, environment);
+		String email = email(fixtures.user("hashing-busy"));
+
+		try {
+			CompletableFuture<?> running = CompletableFuture.runAsync(() -> encoder.matches("a", "b"));
+			started.await();
+			CompletableFuture<?> queued = CompletableFuture.runAsync(() -> encoder.matches("a", "b"));
+			while (registry.get("budgetwise.bcrypt.queue").gauge().value() < 1) {
+				Thread.onSpinWait();
+			}
+
+			assertThatThrownBy(() -> service.login(email, "x"))
+					.isInstanceOf(PasswordHashingBusyException.class);
+
+			release.countDown();
+			running.join();
+			queued.join();
+		} finally {
+			release.countDown();
+			encoder.destroy();
+		}
+
+		// Not a 500, and not the 400 other RuntimeExceptions get
+		ResponseEntity<?> response = new GlobalExceptionHandler()
+				.handleHashingBusy(new PasswordHashingBusyException("Too many sign-in attempts, try again shortly"));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	@Test
+	void legacyCostHashIsRewrittenOnLogin() {
+		Long userId = fixtures.user("hashing-legacy");
+		User user = users.findById(userId).orElseThrow();
+		String legacy = new BCryptPasswordEncoder(4).encode("hunter22");
+		user.setPassword(legacy);
+		users.save(user);
+
+		assertThat(authService.login(user.getEmail(), "hunter22")).isNotBlank();
+
+		String rehashed = users.findById(userId).orElseThrow().getPassword();
+		assertThat(rehashed).isNotEqualTo(legacy).startsWith("$2a$10$");
+		assertThat(new BCryptPasswordEncoder().matches("hunter22", rehashed)).isTrue();
+	}
+
+	private String email(Long userId) {
+		return users.findById(userId).orElseThrow().getEmail();
+	}
+}
@@ -0,0 +1,76 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.config.PermitLimitedDataSource;
+import com.budgetwise.exception.DatabaseBusyException;
+import com.budgetwise.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.sqlite.SQLiteDataSource;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Once every permit is out, callers beyond the waiting cap (or past the
+ * acquire timeout) are turned away with a 503, and a closed connection
+ * hands its permit back exactly once.
+ */
+class PermitLimitedDataSourceTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void callersBeyondTheCapAreTurnedAway() throws Exception {
+		// One permit, nobody may wait for it
+		PermitLimitedDataSource db = dataSource(0, 2000);
+
+		Connection held = db.getConnection();
+		assertThatThrownBy(db::getConnection)
+				.isInstanceOf(DatabaseBusyException.class)
+				.hasMessage("Too many requests waiting for the database");
+
+		// Closing twice must not hand out a second permit
+		held.close();
+		held.close();
+		Connection again = db.getConnection();
+		assertThatThrownBy(db::getConnection).isInstanceOf(DatabaseBusyException.class);
+		again.close();
+
+		assertThat(registry.get("budgetwise.db.permits.rejected").counter().count()).isEqualTo(2);
+		assertThat(registry.get("budgetwise.db.permits.available").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void waitingPastTheTimeoutAnswers503() throws Exception {
+		PermitLimitedDataSource db = dataSource(1, 50);
+
+		try (Connection held = db.getConnection()) {
+			DataAccessException ex = catchThrowableOfType(DataAccessException.class,
+					() -> new JdbcTemplate(db).queryForObject("select 1", Integer.class));
+
+			assertThat(ex).hasRootCauseInstanceOf(DatabaseBusyException.class)
+					.hasRootCauseMessage("Timed out waiting for the database");
+
+			// Arrives wrapped by Spring's JDBC layer and is still a 503, not a 400
+			ResponseEntity<?> response = new GlobalExceptionHandler().handleRuntime(ex);
+			assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+			assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		}
+
+		assertThat(new JdbcTemplate(db).queryForObject("select 1", Integer.class)).isEqualTo(1);
+	}
+
+	private PermitLimitedDataSource dataSource(int maxWaiting, long acquireTimeoutMs) {
+		SQLiteDataSource sqlite = new SQLiteDataSource();
+		sqlite.setUrl("jdbc:sqlite::memory:");
+		return new PermitLimitedDataSource(sqlite, "test", 1, maxWaiting, acquireTimeoutMs, registry);
+	}
+}
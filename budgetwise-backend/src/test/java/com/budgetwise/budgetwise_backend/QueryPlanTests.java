@@ -0,0 +1,212 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.repository.BudgetAlertRepository;
+import com.budgetwise.repository.BudgetRepository;
+import com.budgetwise.repository.ExpenseRepository;
+import com.budgetwise.repository.MonthlyCategoryTotalRepository;
+import com.budgetwise.repository.RecurringRuleRepository;
+import com.budgetwise.repository.SavingsEntryRepository;
+import com.budgetwise.repository.SavingsGoalRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot-path repository methods, captures the SQL Hibernate issues
+ * and checks with EXPLAIN QUERY PLAN that SQLite answers it from the
+ * indexes created by the migrations, without a full scan or an extra sort.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:sqlite:file:queryplans?mode=memory&cache=shared",
+		"spring.jpa.show-sql=false"
+})
+class QueryPlanTests {
+
+	private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+	@TestConfiguration
+	static class CaptureSql {
+
+		// Wraps the inspector SqlStatementMetrics registered, so both see every statement
+		@Bean
+		@Order(Ordered.LOWEST_PRECEDENCE)
+		HibernatePropertiesCustomizer captureSql() {
+			return properties -> {
+				StatementInspector metrics = (StatementInspector) properties.get(AvailableSettings.STATEMENT_INSPECTOR);
+				properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+					STATEMENTS.add(sql);
+					return metrics == null ? sql : metrics.inspect(sql);
+				});
+			};
+		}
+	}
+
+	private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+	@Autowired
+	private ExpenseRepository expenses;
+
+	@Autowired
+	private BudgetRepository budgets;
+
+	@Autowired
+	private MonthlyCategoryTotalRepository rollups;
+
+	@Autowired
+	private SavingsGoalRepository goals;
+
+	@Autowired
+	private SavingsEntryRepository entries;
+
+	@Autowired
+	private RecurringRuleRepository recurringRules;
+
+	@Autowired
+	private BudgetAlertRepository alerts;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void expensePagesUseTheIndexMatchingTheirFilter() {
+		assertThat(plan(() -> expenses.findPage(1L, null, null, null, null, null, null, Limit.of(50))))
+				.contains("idx_expenses_user_date_id")
+				.doesNotContain("TEMP B-TREE");
+
+		// A deep page seeks to its cursor rather than walking the newer rows
+		assertThat(plan(() -> expenses.findPage(1L, null, null, null, null, DAY, 10L, Limit.of(50))))
+				.contains("idx_expenses_user_date_id (user_id=? AND date<?)")
+				.doesNotContain("TEMP B-TREE");
+
+		assertThat(plan(() -> expenses.findPage(1L, TransactionType.INCOME, null, null, null, DAY, 10L, Limit.of(50))))
+				.contains("idx_expenses_user_type_date_id (user_id=? AND type=? AND date<?)")
+				.doesNotContain("TEMP B-TREE");
+
+		assertThat(plan(() -> expenses.findPage(1L, null, null, null, null, null, 10L, Limit.of(50))))
+				.contains("idx_expenses_user_date_id (user_id=? AND date=? AND id<?)")
+				.doesNotContain("TEMP B-TREE");
+
+		assertThat(plan(() -> expenses.findPage(1L, null, 3L, null, null, null, null, Limit.of(50))))
+				.contains("idx_expenses_user_category_date_id")
+				.doesNotContain("TEMP B-TREE");
+	}
+
+	@Test
+	void insightsReadAUsersDateRange() {
+		assertThat(plan(() -> expenses.sumByDateAndType(1L, DAY, DAY.plusMonths(1))))
+				.contains("idx_expenses_user_date_id");
+	}
+
+	@Test
+	void budgetLookupsUseUserAndMonth() {
+		assertThat(plan(() -> budgets.findByUserIdAndMonth(1L, "2025-03")))
+				.contains("idx_budget_user_month");
+
+		// Carried-forward budget: latest month before, straight off the index
+		assertThat(plan(() -> budgets.findFirstByUserIdAndMonthLessThanOrderByMonthDesc(1L, "2025-03")))
+				.contains("idx_budget_user_month")
+				.doesNotContain("TEMP B-TREE");
+
+		assertThat(plan(() -> budgets.findByUserIdAndMonthBetweenOrderByMonth(1L, "2025-01", "2025-12")))
+				.contains("idx_budget_user_month")
+				.contains("idx_category_budget_budget");
+	}
+
+	@Test
+	void budgetSummaryReadsTheRollup() {
+		assertThat(plan(() -> rollups.findByUserIdAndMonthAndType(1L, "2025-03", TransactionType.EXPENSE)))
+				.contains("idx_rollup_user_month_category_id_type");
+	}
+
+	@Test
+	void savingsUseGoalOwnerAndGoalIndexes() {
+		assertThat(plan(() -> goals.findByUserId(1L)))
+				.contains("idx_savings_goal_user");
+
+		assertThat(plan(() -> entries.sumByGoal(1L)))
+				.contains("idx_savings_goal_user")
+				.contains("idx_savings_entry_goal_date_id");
+
+		assertThat(plan(() -> entries.sumForGoal(1L)))
+				.contains("idx_savings_entry_goal_date_id")
+				.doesNotContain("idx_savings_goal_user");
+
+		assertThat(plan(() -> entries.findPage(1L, 1L, Limit.of(20))))
+				.contains("idx_savings_entry_goal_date_id")
+				.doesNotContain("TEMP B-TREE");
+
+		assertThat(plan(() -> entries.findPageBefore(1L, 1L, DAY, 10L, Limit.of(20))))
+				.contains("idx_savings_entry_goal_date_id (goal_id=? AND date<?)")
+				.doesNotContain("TEMP B-TREE");
+
+		assertThat(plan(() -> entries.findUndatedPageBefore(1L, 1L, 10L, Limit.of(20))))
+				.contains("idx_savings_entry_goal_date_id (goal_id=? AND date=? AND id<?)")
+				.doesNotContain("TEMP B-TREE");
+	}
+
+	@Test
+	void recurringDueScanWalksUsersInIndexOrder() {
+		assertThat(plan(() -> recurringRules.findDueUserIds(DAY, 0L, Limit.of(200))))
+				.contains("idx_recurring_rules_user_next_date")
+				.doesNotContain("TEMP B-TREE");
+
+		assertThat(plan(() -> recurringRules.findDue(List.of(1L, 2L), DAY)))
+				.contains("idx_recurring_rules_user_next_date");
+	}
+
+	@Test
+	void budgetAlertsAreEvaluatedAndListedOffIndexes() {
+		// Runs on every expense write: budget in effect plus the month's running totals
+		assertThat(plan(() -> budgets.findLimits(1L, "2025-03", 3L, Limit.of(1))))
+				.contains("idx_budget_user_month")
+				.doesNotContain("TEMP B-TREE");
+
+		assertThat(plan(() -> rollups.spentInMonth(1L, "2025-03", 3L)))
+				.contains("idx_rollup_user_month_category_id_type");
+
+		assertThat(plan(() -> alerts.findByUserIdAndReadAtIsNullOrderByIdDesc(1L, Limit.of(100))))
+				.contains("idx_budget_alerts_user_read_id")
+				.doesNotContain("TEMP B-TREE");
+	}
+
+	@Test
+	void userScopedQueriesFilterOnUserIdWithoutJoiningUsers() {
+		assertThat(plan(() -> expenses.findByIdAndUserId(1L, 1L))).doesNotContain("join users");
+		assertThat(plan(() -> expenses.findOwned(1L, List.of(1L, 2L)))).doesNotContain("join users");
+		assertThat(plan(() -> budgets.findByUserIdAndMonth(1L, "2025-03"))).doesNotContain("join users");
+		assertThat(plan(() -> rollups.findByUserIdAndMonthAndType(1L, "2025-03", TransactionType.EXPENSE)))
+				.doesNotContain("join users");
+		assertThat(plan(() -> goals.findByIdAndUserId(1L, 1L))).doesNotContain("join users");
+	}
+
+	// EXPLAIN QUERY PLAN of the single query the call issued; parameters are left unbound
+	private String plan(Runnable call) {
+		STATEMENTS.clear();
+		call.run();
+
+		assertThat(STATEMENTS).hasSize(1);
+		String plan = jdbc.queryForList("explain query plan " + STATEMENTS.get(0))
+				.stream()
+				.map(row -> String.valueOf(row.get("detail")))
+				.collect(Collectors.joining("\n"));
+
+		return STATEMENTS.get(0) + "\n" + plan;
+	}
+}
@@ -0,0 +1,150 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.RecurringRuleRequest;
+import com.budgetwise.dto.RecurringRuleResponse;
+import com.budgetwise.model.RecurringRule;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.repository.RecurringRuleRepository;
+import com.budgetwise.service.ChangeFeed;
+import com.budgetwise.service.RecurringMaterializer;
+import com.budgetwise.service.RecurringRuleService;
+import com.budgetwise.service.RollupService;
+import com.budgetwise.service.UserDataVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Due occurrences are written exactly once, however often the run repeats,
+ * and a run never writes a rule from values that were edited after it read
+ * them.
+ */
+@BehaviourTest
+class RecurringMaterializerTests {
+
+	private static final Consumer<RecurringRule> AS_STORED = r -> {
+	};
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private RecurringRuleService ruleService;
+
+	@Autowired
+	private RecurringRuleRepository ruleRepository;
+
+	@Autowired
+	private RollupService rollupService;
+
+	@Autowired
+	private UserDataVersions dataVersions;
+
+	@Autowired
+	private ChangeFeed changeFeed;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void repeatedRunsWriteEachOccurrenceOnce() {
+		Long userId = fixtures.user("recurring-idempotent");
+		RecurringRuleResponse rule = ruleService.createRule(userId, request("Rent", 90000, LocalDate.of(2025, 1, 31)));
+
+		RecurringMaterializer materializer = materializer(userId, AS_STORED);
+
+		assertThat(materializer.run(LocalDate.of(2025, 4, 15))).isEqualTo(3);
+		assertThat(materializer.run(LocalDate.of(2025, 4, 15))).isZero();
+		assertThat(materializer.run(LocalDate.of(2025, 4, 29))).isZero();
+
+		assertThat(expenses(userId)).containsExactly(
+				"2025-01-31 Rent 90000",
+				"2025-02-28 Rent 90000",
+				"2025-03-31 Rent 90000"
+		);
+		assertThat(ruleRepository.findById(rule.getId()))
+				.hasValueSatisfying(r -> assertThat(r.getNextDate()).isEqualTo("2025-04-30"));
+	}
+
+	@Test
+	void ruleEditedDuringARunIsWrittenFromItsNewValues() {
+		Long userId = fixtures.user("recurring-edited");
+		RecurringRuleResponse rule = ruleService.createRule(userId, request("Gym", 3000, LocalDate.of(2025, 1, 10)));
+
+		// The edit commits between the run's read and its write: the run planned from the old rule
+		ruleService.updateRule(userId, rule.getId(), request("Gym", 4500, LocalDate.of(2025, 1, 10)));
+		RecurringMaterializer stale = materializer(userId, r -> {
+			r.setAmount(3000);
+			r.setVersion(r.getVersion() - 1);
+		});
+
+		assertThat(stale.run(LocalDate.of(2025, 2, 20))).isZero();
+		assertThat(expenses(userId)).isEmpty();
+
+		// Still due, and now planned from what the user saved
+		assertThat(materializer(userId, AS_STORED).run(LocalDate.of(2025, 2, 20))).isEqualTo(2);
+		assertThat(expenses(userId)).containsExactly(
+				"2025-01-10 Gym 4500",
+				"2025-02-10 Gym 4500"
+		);
+	}
+
+	// Runs over this user's rules only, each passed through `asRead` once loaded
+	private RecurringMaterializer materializer(Long userId, Consumer<RecurringRule> asRead) {
+		RecurringRuleRepository rules = (RecurringRuleRepository) Proxy.newProxyInstance(
+				RecurringRuleRepository.class.getClassLoader(),
+				new Class<?>[]{RecurringRuleRepository.class},
+				(proxy, method, args) -> {
+					Object result;
+					try {
+						result = method.invoke(ruleRepository, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+					return switch (method.getName()) {
+						case "findDueUserIds" -> ((List<?>) result).stream().filter(userId::equals).toList();
+						case "findDue" -> {
+							((List<?>) result).forEach(r -> asRead.accept((RecurringRule) r));
+							yield result;
+						}
+						default -> result;
+					};
+				}
+		);
+
+		return new RecurringMaterializer(
+				rules, rollupService, dataVersions, changeFeed, jdbc, transactionTemplate,
+				new SimpleMeterRegistry(), 2, 200, 36
+		);
+	}
+
+	private List<String> expenses(Long userId) {
+		return jdbc.query(
+				"select date, title, amount_minor from expenses where user_id = ? order by date",
+				(rs, i) -> rs.getDate(1).toLocalDate() + " " + rs.getString(2) + " " + rs.getLong(3),
+				userId
+		);
+	}
+
+	private static RecurringRuleRequest request(String title, long amount, LocalDate start) {
+		RecurringRuleRequest request = new RecurringRuleRequest();
+		request.setTitle(title);
+		request.setAmount(amount);
+		request.setType(TransactionType.EXPENSE);
+		request.setStartDate(start);
+		return request;
+	}
+}
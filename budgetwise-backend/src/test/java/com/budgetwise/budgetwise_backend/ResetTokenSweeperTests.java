@@ -0,0 +1,59 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.model.User;
+import com.budgetwise.repository.UserRepository;
+import com.budgetwise.service.ResetTokenSweeper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Expired reset tokens are cleared, batch after batch; live ones stay.
+ */
+@BehaviourTest
+class ResetTokenSweeperTests {
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private UserRepository users;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void expiredTokensAreSweptInBatches() {
+		long now = System.currentTimeMillis();
+		Long first = withResetToken(fixtures.user("sweep-expired"), now - 60_000);
+		Long second = withResetToken(fixtures.user("sweep-expired"), now - 1);
+		Long third = withResetToken(fixtures.user("sweep-expired"), now - 3_600_000);
+		Long live = withResetToken(fixtures.user("sweep-live"), now + 600_000);
+
+		// Smaller batches than expired tokens, so the sweep has to loop
+		new ResetTokenSweeper(users, transactionTemplate, 2).sweep();
+
+		assertThat(users.findAllById(List.of(first, second, third)))
+				.hasSize(3)
+				.allSatisfy(u -> {
+					assertThat(u.getResetToken()).isNull();
+					assertThat(u.getResetTokenExpiry()).isNull();
+				});
+
+		User kept = users.findById(live).orElseThrow();
+		assertThat(kept.getResetToken()).isEqualTo("hash-" + live);
+		assertThat(kept.getResetTokenExpiry()).isEqualTo(now + 600_000);
+	}
+
+	private Long withResetToken(Long userId, long expiry) {
+		User user = users.findById(userId).orElseThrow();
+		user.setResetToken("hash-" + userId);
+		user.setResetTokenExpiry(expiry);
+		users.save(user);
+		return userId;
+	}
+}
@@ -0,0 +1,104 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.model.Expense;
+import com.budgetwise.model.TransactionType;
+import com.budgetwise.service.ExpenseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Monthly category totals follow every write: an edit moves its amount,
+ * a re-categorisation or a date change moves it between buckets and a
+ * delete takes it out.
+ */
+@BehaviourTest
+class RollupTests {
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void totalsFollowAddUpdateMoveAndDelete() {
+		Long userId = fixtures.user("rollups");
+
+		Expense taxi = expenseService.addExpense(
+				expense("Taxi", 1000, "Food", TransactionType.EXPENSE, LocalDate.of(2025, 1, 5)), userId);
+		Expense lunch = expenseService.addExpense(
+				expense("Lunch", 500, "Food", TransactionType.EXPENSE, LocalDate.of(2025, 1, 7)), userId);
+		expenseService.addExpense(
+				expense("Salary", 10000, "Salary", TransactionType.INCOME, LocalDate.of(2025, 1, 1)), userId);
+
+		assertThat(rollups(userId)).containsExactlyInAnyOrder(
+				"2025-01 Food EXPENSE 1500x2",
+				"2025-01 Salary INCOME 10000x1"
+		);
+
+		// Amount only: the bucket moves by the difference
+		expenseService.updateExpense(taxi.getId(),
+				expense("Taxi", 1200, "Food", null, LocalDate.of(2025, 1, 5)), userId);
+		assertThat(rollups(userId)).contains("2025-01 Food EXPENSE 1700x2");
+
+		// Another category
+		expenseService.updateExpense(taxi.getId(),
+				expense("Taxi", 1200, "Travel", null, LocalDate.of(2025, 1, 5)), userId);
+		assertThat(rollups(userId)).containsExactlyInAnyOrder(
+				"2025-01 Food EXPENSE 500x1",
+				"2025-01 Travel EXPENSE 1200x1",
+				"2025-01 Salary INCOME 10000x1"
+		);
+
+		// Another month
+		expenseService.updateExpense(taxi.getId(),
+				expense("Taxi", 1200, "Travel", null, LocalDate.of(2025, 2, 3)), userId);
+		assertThat(rollups(userId)).containsExactlyInAnyOrder(
+				"2025-01 Food EXPENSE 500x1",
+				"2025-02 Travel EXPENSE 1200x1",
+				"2025-01 Salary INCOME 10000x1"
+		);
+
+		// Uncategorised has its own bucket
+		expenseService.updateExpense(lunch.getId(),
+				expense("Lunch", 500, null, null, LocalDate.of(2025, 1, 7)), userId);
+		expenseService.deleteExpense(taxi.getId(), userId);
+		assertThat(rollups(userId)).containsExactlyInAnyOrder(
+				"2025-01 - EXPENSE 500x1",
+				"2025-01 Salary INCOME 10000x1"
+		);
+
+		expenseService.deleteExpense(lunch.getId(), userId);
+		assertThat(rollups(userId)).containsExactly("2025-01 Salary INCOME 10000x1");
+	}
+
+	// Non-empty buckets as "month category type totalxcount"
+	private List<String> rollups(Long userId) {
+		return jdbc.queryForList("""
+				select m.month || ' ' || coalesce(c.name, '-') || ' ' || m.type || ' '
+				       || m.total_minor || 'x' || m.tx_count
+				from monthly_category_totals m
+				left join categories c on c.id = m.category_id
+				where m.user_id = ? and m.tx_count <> 0
+				""", String.class, userId);
+	}
+
+	private static Expense expense(String title, long amount, String category, TransactionType type, LocalDate date) {
+		Expense e = new Expense();
+		e.setTitle(title);
+		e.setAmount(amount);
+		e.setCategory(category);
+		e.setType(type);
+		e.setDate(date);
+		return e;
+	}
+}
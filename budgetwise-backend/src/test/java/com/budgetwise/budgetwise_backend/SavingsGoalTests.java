@@ -0,0 +1,137 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.dto.ChangeEvent;
+import com.budgetwise.dto.SavingsEntryPage;
+import com.budgetwise.dto.SavingsEntryRequest;
+import com.budgetwise.dto.SavingsGoalRequest;
+import com.budgetwise.dto.SavingsGoalResponse;
+import com.budgetwise.model.SavingsGoal;
+import com.budgetwise.repository.SavingsEntryRepository;
+import com.budgetwise.repository.SavingsGoalRepository;
+import com.budgetwise.repository.UserRepository;
+import com.budgetwise.service.ChangeFeed;
+import com.budgetwise.service.SavingsGoalService;
+import com.budgetwise.service.UserDataVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Goal entries page newest first with undated ones last, and an updated
+ * goal is published with its own saved total.
+ */
+@BehaviourTest
+class SavingsGoalTests {
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private SavingsGoalService savingsService;
+
+	@Autowired
+	private SavingsGoalRepository goals;
+
+	@Autowired
+	private SavingsEntryRepository entries;
+
+	@Autowired
+	private UserRepository users;
+
+	@Autowired
+	private UserDataVersions dataVersions;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void entriesArePagedOnceEachWithUndatedOnesLast() {
+		Long userId = fixtures.user("savings-paging");
+		Long goalId = goal(userId, "Bike", 50000);
+		entry(userId, goalId, 100, LocalDate.of(2025, 3, 1));
+		entry(userId, goalId, 200, LocalDate.of(2025, 4, 1));
+		entry(userId, goalId, 300, LocalDate.of(2025, 4, 1));
+		entry(userId, goalId, 400, null);
+		entry(userId, goalId, 500, null);
+		entry(userId, goalId, 600, null);
+
+		List<Long> amounts = new ArrayList<>();
+		String cursor = null;
+		do {
+			SavingsEntryPage page = savingsService.getEntries(userId, goalId, cursor, 2);
+			assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+			page.getItems().forEach(e -> amounts.add(e.getAmount()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(amounts).containsExactly(300L, 200L, 100L, 600L, 500L, 400L);
+	}
+
+	@Test
+	void updatedGoalCarriesItsOwnTotal() {
+		Long userId = fixtures.user("savings-update");
+		Long bike = goal(userId, "Bike", 50000);
+		Long trip = goal(userId, "Trip", 90000);
+		Long empty = goal(userId, "Piano", 300000);
+		entry(userId, bike, 1000, LocalDate.of(2025, 3, 1));
+		entry(userId, bike, 2500, LocalDate.of(2025, 3, 8));
+		entry(userId, trip, 40000, LocalDate.of(2025, 3, 2));
+
+		List<ChangeEvent> published = new ArrayList<>();
+		ChangeFeed feed = new ChangeFeed(new SimpleMeterRegistry(), 1, 2, 5, 10, 60000) {
+			@Override
+			public void publish(Long user, ChangeEvent event) {
+				published.add(event);
+			}
+		};
+		SavingsGoalService service = new SavingsGoalService(goals, entries, users, dataVersions, feed);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		try {
+			tx.executeWithoutResult(s -> service.updateGoal(userId, bike, request("Bike", 60000)));
+			tx.executeWithoutResult(s -> service.updateGoal(userId, empty, request("Piano", 250000)));
+		} finally {
+			feed.destroy();
+		}
+
+		assertThat(published).extracting(e -> (SavingsGoalResponse) e.getData())
+				.extracting(SavingsGoalResponse::getId, SavingsGoalResponse::getTotalSaved,
+						SavingsGoalResponse::getEntryCount, SavingsGoalResponse::getRemaining)
+				.containsExactly(
+						tuple(bike, 3500L, 2L, 56500L),
+						tuple(empty, 0L, 0L, 250000L)
+				);
+	}
+
+	private Long goal(Long userId, String name, long target) {
+		savingsService.createGoal(userId, request(name, target));
+		return goals.findByUserId(userId).stream()
+				.filter(g -> g.getName().equals(name))
+				.map(SavingsGoal::getId)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private void entry(Long userId, Long goalId, long amount, LocalDate date) {
+		SavingsEntryRequest request = new SavingsEntryRequest();
+		request.setAmount(amount);
+		request.setDate(date);
+		savingsService.addEntry(userId, goalId, request);
+	}
+
+	private static SavingsGoalRequest request(String name, long target) {
+		SavingsGoalRequest request = new SavingsGoalRequest();
+		request.setName(name);
+		request.setTargetAmount(target);
+		return request;
+	}
+}
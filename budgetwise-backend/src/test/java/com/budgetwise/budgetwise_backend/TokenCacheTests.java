@@ -0,0 +1,72 @@
+package com.budgetwise.budgetwise_backend;
+
+import com.budgetwise.security.AuthenticatedUser;
+import com.budgetwise.security.TokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Repeat requests authenticate from the cache; logout drops the token and
+ * it is refused from then on.
+ */
+@BehaviourTest
+@AutoConfigureMockMvc
+class TokenCacheTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private Fixtures fixtures;
+
+	@Autowired
+	private TokenCache tokenCache;
+
+	@Test
+	void verifiedTokenIsServedFromTheCache() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		TokenCache cache = new TokenCache(10, 300, registry);
+		AuthenticatedUser user = new AuthenticatedUser(1L, "cached@example.com", "USER");
+
+		assertThat(cache.get("token")).isNull();
+		cache.put("token", user, System.currentTimeMillis() + 60_000);
+
+		assertThat(cache.get("token")).isSameAs(user);
+		assertThat(registry.get("budgetwise.jwt.cache.hits").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("budgetwise.jwt.cache.misses").functionCounter().count()).isEqualTo(1);
+
+		// Past the token's exp it is a miss, whatever the TTL says
+		cache.put("expired", user, System.currentTimeMillis() - 1);
+		assertThat(cache.get("expired")).isNull();
+	}
+
+	@Test
+	void logoutEvictsAndRefusesTheToken() throws Exception {
+		String bearer = fixtures.bearer(fixtures.user("token-logout"));
+		String token = bearer.substring("Bearer ".length());
+
+		mvc.perform(get("/api/categories").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk());
+		assertThat(tokenCache.get(token)).isNotNull();
+
+		mvc.perform(post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isNoContent());
+
+		assertThat(tokenCache.get(token)).isNull();
+		assertThat(tokenCache.isRevoked(token)).isTrue();
+		mvc.perform(get("/api/categories").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().is4xxClientError());
+
+		// Still valid by signature and exp, but not cached again
+		assertThat(tokenCache.get(token)).isNull();
+	}
+}
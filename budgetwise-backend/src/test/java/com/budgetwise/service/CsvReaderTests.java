@@ -0,0 +1,85 @@
+package com.budgetwise.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RFC 4180 records as the import reads them, one at a time.
+ */
+class CsvReaderTests {
+
+	@Test
+	void splitsPlainRecords() throws IOException {
+		assertThat(read("title,amount\nLunch,12.50\n")).containsExactly(
+				List.of("title", "amount"),
+				List.of("Lunch", "12.50")
+		);
+	}
+
+	@Test
+	void keepsEmptyFields() throws IOException {
+		assertThat(read("a,,c\n,\n")).containsExactly(
+				List.of("a", "", "c"),
+				List.of("", "")
+		);
+	}
+
+	@Test
+	void quotedFieldsHoldCommasAndEscapedQuotes() throws IOException {
+		assertThat(read("\"Rent, March\",\"say \"\"hi\"\"\",\"\"\n")).containsExactly(
+				List.of("Rent, March", "say \"hi\"", "")
+		);
+	}
+
+	@Test
+	void quotedFieldsHoldLineBreaks() throws IOException {
+		assertThat(read("\"first\nsecond\",x\r\n\"a\r\nb\",y\n")).containsExactly(
+				List.of("first\nsecond", "x"),
+				List.of("a\r\nb", "y")
+		);
+	}
+
+	@Test
+	void acceptsCrlfAndAMissingFinalLineBreak() throws IOException {
+		assertThat(read("a,b\r\nc,d")).containsExactly(
+				List.of("a", "b"),
+				List.of("c", "d")
+		);
+	}
+
+	@Test
+	void quoteInsideAnUnquotedFieldIsLiteral() throws IOException {
+		assertThat(read("5\" pipe,1\n")).containsExactly(List.of("5\" pipe", "1"));
+	}
+
+	@Test
+	void unterminatedQuoteIsMalformed() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("ok,1\n\"never closed,2\n"));
+
+		assertThat(csv.next()).containsExactly("ok", "1");
+		assertThatThrownBy(csv::next)
+				.isInstanceOf(IOException.class)
+				.hasMessage("Unterminated quoted field");
+	}
+
+	@Test
+	void emptyInputHasNoRecords() throws IOException {
+		assertThat(new CsvReader(new StringReader("")).next()).isNull();
+	}
+
+	private static List<List<String>> read(String text) throws IOException {
+		CsvReader csv = new CsvReader(new StringReader(text));
+		List<List<String>> records = new ArrayList<>();
+		for (List<String> r; (r = csv.next()) != null; ) {
+			records.add(r);
+		}
+		return records;
+	}
+}
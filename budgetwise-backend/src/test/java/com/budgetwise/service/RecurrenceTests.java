@@ -0,0 +1,75 @@
+package com.budgetwise.service;
+
+import com.budgetwise.model.RecurringRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Occurrence dates: every intervalMonths from the start month, on
+ * dayOfMonth clamped to short months, up to the end date.
+ */
+class RecurrenceTests {
+
+	@Test
+	void monthEndClampsToShortMonthsAndComesBack() {
+		RecurringRule rule = rule(LocalDate.of(2024, 1, 31), 1, 31, null);
+
+		LocalDate d = Recurrence.firstOnOrAfter(rule, rule.getStartDate());
+		assertThat(d).isEqualTo("2024-01-31");
+		assertThat(d = Recurrence.after(rule, d)).isEqualTo("2024-02-29");
+		assertThat(d = Recurrence.after(rule, d)).isEqualTo("2024-03-31");
+		assertThat(d = Recurrence.after(rule, d)).isEqualTo("2024-04-30");
+
+		RecurringRule nonLeap = rule(LocalDate.of(2025, 1, 31), 1, 31, null);
+		assertThat(Recurrence.after(nonLeap, LocalDate.of(2025, 1, 31))).isEqualTo("2025-02-28");
+	}
+
+	@Test
+	void intervalsCountFromTheStartMonth() {
+		// Quarterly on the 15th from November: Nov, Feb, May, Aug
+		RecurringRule rule = rule(LocalDate.of(2024, 11, 15), 3, 15, null);
+
+		assertThat(Recurrence.after(rule, LocalDate.of(2024, 11, 15))).isEqualTo("2025-02-15");
+		assertThat(Recurrence.firstOnOrAfter(rule, LocalDate.of(2025, 1, 1))).isEqualTo("2025-02-15");
+		assertThat(Recurrence.firstOnOrAfter(rule, LocalDate.of(2025, 2, 15))).isEqualTo("2025-02-15");
+		assertThat(Recurrence.firstOnOrAfter(rule, LocalDate.of(2025, 2, 16))).isEqualTo("2025-05-15");
+	}
+
+	@Test
+	void dayOfMonthCanDifferFromTheStartDay() {
+		// Starts on the 20th, bills on the 5th: the first one is next month's
+		RecurringRule rule = rule(LocalDate.of(2025, 3, 20), 1, 5, null);
+
+		assertThat(Recurrence.firstOnOrAfter(rule, rule.getStartDate())).isEqualTo("2025-04-05");
+	}
+
+	@Test
+	void nothingBeforeTheStartOrAfterTheEnd() {
+		RecurringRule rule = rule(LocalDate.of(2025, 1, 10), 1, 10, LocalDate.of(2025, 3, 10));
+
+		assertThat(Recurrence.firstOnOrAfter(rule, LocalDate.of(2020, 1, 1))).isEqualTo("2025-01-10");
+		assertThat(Recurrence.after(rule, LocalDate.of(2025, 2, 10))).isEqualTo("2025-03-10");
+		assertThat(Recurrence.after(rule, LocalDate.of(2025, 3, 10))).isNull();
+		assertThat(Recurrence.firstOnOrAfter(rule, LocalDate.of(2025, 3, 11))).isNull();
+	}
+
+	@Test
+	void yearlyOnLeapDay() {
+		RecurringRule rule = rule(LocalDate.of(2024, 2, 29), 12, 29, null);
+
+		assertThat(Recurrence.after(rule, LocalDate.of(2024, 2, 29))).isEqualTo("2025-02-28");
+		assertThat(Recurrence.firstOnOrAfter(rule, LocalDate.of(2027, 6, 1))).isEqualTo("2028-02-29");
+	}
+
+	private static RecurringRule rule(LocalDate start, int intervalMonths, int dayOfMonth, LocalDate end) {
+		RecurringRule rule = new RecurringRule();
+		rule.setStartDate(start);
+		rule.setIntervalMonths(intervalMonths);
+		rule.setDayOfMonth(dayOfMonth);
+		rule.setEndDate(end);
+		return rule;
+	}
+}
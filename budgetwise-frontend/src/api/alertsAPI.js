@@ -0,0 +1,14 @@
+import api from "./axios";
+
+/**
+ * Get unread budget alerts, newest first
+ * item: { id, month, category (null = overall budget), threshold, spent, budget, createdAt }
+ */
+export const getAlerts = () =>
+  api.get("/alerts");
+
+/**
+ * Mark alerts read up to and including id; omit id to mark all
+ */
+export const markAlertsRead = (upTo) =>
+  api.post("/alerts/read", null, { params: upTo ? { upTo } : {} });
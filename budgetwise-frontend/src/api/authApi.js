@@ -6,6 +6,9 @@ export const registerUser = (data) =>
 export const loginUser = (data) =>
   api.post("/auth/login", data);
 
+export const logoutUser = () =>
+  api.post("/auth/logout");
+
 export const forgotPassword = (email) =>
   api.post("/auth/forgot-password", { email });
 
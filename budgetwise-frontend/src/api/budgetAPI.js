@@ -16,6 +16,14 @@ export const getBudgetSummary = (month) =>
     params: { month },
   });
 
+/**
+ * Get per-month summaries plus range totals
+ * query params: ?from=YYYY-MM&to=YYYY-MM
+ */
+export const getBudgetRange = (from, to) =>
+  api.get("/budget/range", {
+    params: { from, to },
+  });
 
 /**
  * Delete budget for a month
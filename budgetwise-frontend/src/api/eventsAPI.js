@@ -0,0 +1,102 @@
+import api from "./axios";
+
+/**
+ * Change feed (GET /events, server-sent events) shared by every panel.
+ *
+ * EventSource cannot send the Authorization header, so the stream is read
+ * with fetch. One connection per tab, opened for the first subscriber and
+ * closed after the last; dropped streams reconnect with backoff.
+ *
+ * listener(event): event = { entity, action, id, goalId, month, data }
+ *   entity: EXPENSE | BUDGET | GOAL | ENTRY
+ *   action: CREATED | UPDATED | DELETED | CHANGED (several rows, refetch)
+ * listener({ action: "RESYNC" }): events may have been missed, refetch
+ */
+const listeners = new Set();
+
+let controller = null;
+let connectedOnce = false;
+let retryDelay = 1000;
+
+const emit = (event) => listeners.forEach((listener) => listener(event));
+
+const handle = (name, data) => {
+  if (name === "ready") {
+    retryDelay = 1000;
+    // Anything committed while we were away was not delivered
+    if (connectedOnce) emit({ action: "RESYNC" });
+    connectedOnce = true;
+  } else if (name === "resync") {
+    emit({ action: "RESYNC" });
+  } else if (name === "change") {
+    emit(JSON.parse(data));
+  }
+};
+
+const connect = async () => {
+  const token = sessionStorage.getItem("token");
+  if (!token || controller) return;
+
+  const current = new AbortController();
+  controller = current;
+
+  try {
+    const res = await fetch(`${api.defaults.baseURL}/events`, {
+      headers: { Authorization: `Bearer ${token}`, Accept: "text/event-stream" },
+      signal: current.signal,
+    });
+    if (!res.ok) throw new Error(`Change feed returned ${res.status}`);
+
+    const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffered = "";
+
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) break;
+
+      buffered += value;
+      let end;
+      while ((end = buffered.indexOf("\n\n")) >= 0) {
+        const block = buffered.slice(0, end);
+        buffered = buffered.slice(end + 2);
+
+        let name = "message";
+        const data = [];
+        block.split("\n").forEach((line) => {
+          if (line.startsWith("event:")) name = line.slice(6).trim();
+          else if (line.startsWith("data:")) data.push(line.slice(5));
+          // ":heartbeat" comments only keep the stream open
+        });
+        handle(name, data.join("\n"));
+      }
+    }
+  } catch (err) {
+    if (current.signal.aborted) return;
+    console.warn("Change feed disconnected:", err);
+  } finally {
+    if (controller === current) controller = null;
+  }
+
+  if (listeners.size > 0 && !current.signal.aborted) {
+    setTimeout(connect, retryDelay);
+    retryDelay = Math.min(retryDelay * 2, 30000);
+  }
+};
+
+/**
+ * Subscribe to committed changes; returns the unsubscribe function
+ * (suits a useEffect cleanup)
+ */
+export const subscribeChanges = (listener) => {
+  listeners.add(listener);
+  connect();
+
+  return () => {
+    listeners.delete(listener);
+    if (listeners.size === 0 && controller) {
+      controller.abort();
+      controller = null;
+      connectedOnce = false;
+    }
+  };
+};
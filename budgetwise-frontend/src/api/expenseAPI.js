@@ -1,7 +1,28 @@
 import api from "./axios";
 
-// Fetch all transactions (income + expense)
-export const getExpenses = () => api.get("/expenses");
+// Fetch one keyset page of transactions, newest first
+// params (optional): { type, category, from, to, cursor, limit }
+// nextCursor (from the X-Next-Cursor header) is undefined on the last page
+export const getExpenses = async (params = {}) => {
+  const res = await api.get("/expenses", { params });
+  return { ...res, nextCursor: res.headers["x-next-cursor"] };
+};
+
+// Fetch every transaction by following the cursor — only for whole-history
+// views (profile aggregates); lists should page with getExpenses
+export const getAllExpenses = async (params = {}) => {
+  const all = [];
+  let cursor;
+  let res;
+
+  do {
+    res = await getExpenses({ ...params, limit: 200, cursor });
+    all.push(...(res.data || []));
+    cursor = res.nextCursor;
+  } while (cursor);
+
+  return { ...res, data: all };
+};
 
 // Add transaction (EXPENSE or INCOME)
 // `data` MUST include: title, amount, category, type, date
@@ -19,3 +40,14 @@ export const updateExpense = (id, data) => {
 export const deleteExpense = (id) => {
   return api.delete(`/expenses/${id}`);
 };
+
+// Apply many changes in one request and one transaction
+// operations: [{ op: "CREATE" | "UPDATE" | "DELETE", id, title, amount, category, type, date }]
+// UPDATE only changes the fields it sends; the response has one result per operation
+export const batchExpenses = (operations) =>
+  api.post("/expenses/batch", { operations });
+
+// Download transactions streamed by the backend
+// params (optional): { format: "csv" | "ndjson", from, to, type }
+export const exportExpenses = (params) =>
+  api.get("/expenses/export", { params, responseType: "blob" });
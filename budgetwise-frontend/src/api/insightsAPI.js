@@ -0,0 +1,9 @@
+import api from "./axios";
+
+/**
+ * Get server-side aggregated insights
+ * query params (optional): ?from=YYYY-MM&to=YYYY-MM
+ * defaults to the last 12 months
+ */
+export const getInsights = (params) =>
+  api.get("/insights", { params });
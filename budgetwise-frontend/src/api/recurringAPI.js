@@ -0,0 +1,26 @@
+import api from "./axios";
+
+/**
+ * Get all recurring rules
+ */
+export const getRecurringRules = () =>
+  api.get("/recurring");
+
+/**
+ * Create a recurring rule
+ * body: { title, amount, category, type, intervalMonths, dayOfMonth, startDate, endDate }
+ */
+export const createRecurringRule = (data) =>
+  api.post("/recurring", data);
+
+/**
+ * Update a recurring rule; occurrences already written are kept
+ */
+export const updateRecurringRule = (id, data) =>
+  api.put(`/recurring/${id}`, data);
+
+/**
+ * Delete a recurring rule
+ */
+export const deleteRecurringRule = (id) =>
+  api.delete(`/recurring/${id}`);
@@ -9,9 +9,22 @@ export const createSavingsGoal = (data) =>
 
 /**
  * Get all savings goals for logged-in user
+ * params: { entries } - embed the newest N entries per goal (totals only if omitted)
  */
-export const getSavingsGoals = () =>
-  api.get("/savings-goals");
+export const getSavingsGoals = (params = {}) =>
+  api.get("/savings-goals", { params });
+
+/**
+ * Get one page of a goal's entries, newest first
+ * params: { cursor, limit } - next cursor comes back in the x-next-cursor header
+ */
+export const getSavingsEntries = async (goalId, params = {}) => {
+  const res = await api.get(`/savings-goals/${goalId}/entries`, { params });
+  return {
+    items: res.data || [],
+    nextCursor: res.headers["x-next-cursor"] || null,
+  };
+};
 
 /**
  * Delete a savings goal
@@ -2,6 +2,7 @@
 import { Box, Flex, Text, Button } from "@chakra-ui/react";
 import { motion } from "framer-motion";
 import { useNavigate, useLocation } from "react-router-dom";
+import { logoutUser } from "../api/authApi";
 
 const MotionBox = motion(Box);
 const MotionText = motion(Text);
@@ -14,7 +15,13 @@ export default function AppHeader({ isAuthenticated }) {
   const isProfile = location.pathname === "/profile";
   const isDashboard = location.pathname === "/dashboard";
 
-  const handleLogout = () => {
+  const handleLogout = async () => {
+    // The server stops accepting the token; signed out locally either way
+    try {
+      await logoutUser();
+    } catch {
+      // offline or already expired
+    }
     sessionStorage.removeItem("token");
     window.location.href = "/";
   };
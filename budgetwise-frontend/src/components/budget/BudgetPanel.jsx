@@ -26,6 +26,7 @@ import { EditIcon, RepeatIcon, DeleteIcon } from "@chakra-ui/icons";
 import { useDisclosure } from "@chakra-ui/react";
 import { useEffect, useState } from "react";
 import { getBudgetSummary, deleteBudget } from "../../api/budgetAPI";
+import { subscribeChanges } from "../../api/eventsAPI";
 import SetBudgetModal from "./SetBudgetModal";
 
 /* ---------- Custom Tooltip ---------- */
@@ -74,10 +75,21 @@ export default function BudgetPanel() {
     }
   };
 
+  // The summary is derived server-side, so relevant changes refetch just this month
   useEffect(() => {
     load();
-    window.addEventListener("focus", load);
-    return () => window.removeEventListener("focus", load);
+    return subscribeChanges((event) => {
+      const affected =
+        event.action === "RESYNC" ||
+        // a budget carries forward into later months
+        (event.entity === "BUDGET" && event.month <= month) ||
+        (event.entity === "EXPENSE" &&
+          (event.action === "CHANGED" ||
+            event.action === "UPDATED" ||
+            event.month === month));
+
+      if (affected) load();
+    });
   }, [month]);
 
   const handleDelete = async () => {
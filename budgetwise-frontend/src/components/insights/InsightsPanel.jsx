@@ -18,10 +18,8 @@ import {
   ResponsiveContainer,
 } from "recharts";
 import { motion } from "framer-motion";
-import { getExpenses } from "../../api/expenseAPI";
+import { getInsights } from "../../api/insightsAPI";
 import {
-  groupByMonthIncomeExpense,
-  groupExpensesByMonth,
   predictNextMonthSpending,
   generateSpendingAlerts,
   generateSmartSuggestions,
@@ -34,7 +32,7 @@ const MotionHeading = motion(Heading);
 const MotionText = motion(Text);
 
 export default function InsightsPanel() {
-  const [expenses, setExpenses] = useState([]);
+  const [months, setMonths] = useState([]);
   const [loading, setLoading] = useState(true);
 
   const cardBg = useColorModeValue("white", "gray.800");
@@ -43,10 +41,10 @@ export default function InsightsPanel() {
   useEffect(() => {
     const load = async () => {
       try {
-        const res = await getExpenses();
-        setExpenses(res.data || []);
+        const res = await getInsights();
+        setMonths(res.data?.months || []);
       } catch (err) {
-        console.error("Failed to load expenses for insights", err);
+        console.error("Failed to load insights", err);
       } finally {
         setLoading(false);
       }
@@ -56,16 +54,24 @@ export default function InsightsPanel() {
 
   /* ---------- Monthly Aggregations ---------- */
 
-  // Income + Expense (for charts & income insight)
+  // Income + Expense (for charts & income insight) — aggregated by the backend
   const monthlyIncomeExpense = useMemo(
-    () => groupByMonthIncomeExpense(expenses),
-    [expenses]
+    () =>
+      months.map((m) => ({
+        month: m.month,
+        income: Math.round(m.income),
+        expense: Math.round(m.expense),
+      })),
+    [months]
   );
 
   // Expense-only (for regression, alerts, suggestions)
   const monthlyExpenseOnly = useMemo(
-    () => groupExpensesByMonth(expenses),
-    [expenses]
+    () =>
+      months
+        .filter((m) => m.expense > 0)
+        .map((m) => ({ month: m.month, total: Math.round(m.expense) })),
+    [months]
   );
 
   /* ---------- AI-lite Logic ---------- */
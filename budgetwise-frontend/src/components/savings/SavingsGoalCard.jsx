@@ -14,8 +14,9 @@ import {
 } from "@chakra-ui/react";
 import { DeleteIcon, ChevronDownIcon, ChevronUpIcon, CalendarIcon } from "@chakra-ui/icons";
 import { motion } from "framer-motion";
-import { useState } from "react";
+import { useEffect, useState } from "react";
 import {
+  getSavingsEntries,
   deleteSavingsGoal,
   addSavingsEntry,
   deleteSavingsEntry,
@@ -29,7 +30,32 @@ export default function SavingsGoalCard({ goal, onChange }) {
   const { isOpen, onToggle } = useDisclosure();
   const [entryOpen, setEntryOpen] = useState(false);
 
-  const totalSaved = goal.entries?.reduce((s, e) => s + e.amount, 0) || 0;
+  // Entries beyond the preview the list endpoint embedded, loaded on demand
+  const [moreEntries, setMoreEntries] = useState([]);
+  const [cursor, setCursor] = useState(goal.entriesCursor);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  useEffect(() => {
+    setMoreEntries([]);
+    setCursor(goal.entriesCursor);
+  }, [goal]);
+
+  const entries = [...(goal.entries || []), ...moreEntries];
+
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const page = await getSavingsEntries(goal.id, { cursor });
+      setMoreEntries((prev) => [...prev, ...page.items]);
+      setCursor(page.nextCursor);
+    } catch (err) {
+      console.error("Load entries failed:", err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const totalSaved = goal.totalSaved || 0;
   const percent = goal.targetAmount === 0 ? 0 : Math.min((totalSaved / goal.targetAmount) * 100, 100);
   const isComplete = percent >= 100;
 
@@ -73,7 +99,7 @@ export default function SavingsGoalCard({ goal, onChange }) {
                 try {
                   console.log("Deleting goal ID:", goal.id);
                   await deleteSavingsGoal(goal.id);
-                  onChange();
+                  onChange?.();
                 } catch (err) {
                   console.error("Delete goal failed:", err);
                 }
@@ -127,8 +153,8 @@ export default function SavingsGoalCard({ goal, onChange }) {
           </Button>
 
           <VStack spacing={4} align="stretch">
-            {goal.entries?.length > 0 ? (
-              goal.entries.map((e, idx) => (
+            {entries.length > 0 ? (
+              entries.map((e, idx) => (
                 <MotionBox
                   key={e.id}
                   initial={{ opacity: 0, x: -30 }}
@@ -168,7 +194,7 @@ export default function SavingsGoalCard({ goal, onChange }) {
                         ev.stopPropagation();
                         try {
                           await deleteSavingsEntry(e.id);  // Pass only entry ID
-                          onChange();
+                          onChange?.();
                         } catch (err) {
                           console.error("Delete entry failed:", err);
                         }
@@ -183,6 +209,21 @@ export default function SavingsGoalCard({ goal, onChange }) {
                 No contributions yet — start saving today!
               </Text>
             )}
+
+            {cursor && (
+              <Button
+                variant="ghost"
+                colorScheme="teal"
+                size="sm"
+                isLoading={loadingMore}
+                onClick={(e) => {
+                  e.stopPropagation();
+                  loadMore();
+                }}
+              >
+                Load more ({goal.entryCount - entries.length} older)
+              </Button>
+            )}
           </VStack>
         </VStack>
       </Collapse>
@@ -193,7 +234,7 @@ export default function SavingsGoalCard({ goal, onChange }) {
         onSave={(data) =>
           addSavingsEntry(goal.id, data).then(() => {
             setEntryOpen(false);
-            onChange();
+            onChange?.();
           })
         }
       />
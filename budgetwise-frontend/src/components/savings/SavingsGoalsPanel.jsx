@@ -1,5 +1,5 @@
 // SavingsGoalsPanel.jsx (or SavingsPanel.jsx)
-import { useEffect, useState } from "react";
+import { useEffect, useRef, useState } from "react";
 import {
   Box,
   Heading,
@@ -20,6 +20,9 @@ import {
   getSavingsGoals,
   createSavingsGoal,
 } from "../../api/savingsAPI";
+import { subscribeChanges } from "../../api/eventsAPI";
+
+const ENTRIES_PREVIEW = 5;
 
 const MotionBox = motion(Box);
 const MotionVStack = motion(VStack);
@@ -27,15 +30,32 @@ const MotionHeading = motion(Heading);
 const MotionButton = motion(Button);
 const MotionText = motion(Text);  // ← Added this to fix MotionText error
 
+// Amounts arrive in major units; keep sums to the paisa
+const addAmount = (a, b) => Math.round((a + b) * 100) / 100;
+
+const withSaved = (goal, totalSaved, entryCount) => ({
+  ...goal,
+  totalSaved,
+  entryCount,
+  remaining: addAmount(goal.targetAmount, -totalSaved),
+  percentage:
+    goal.targetAmount === 0
+      ? 0
+      : Math.round((totalSaved / goal.targetAmount) * 10000) / 100,
+});
+
 export default function SavingsGoalsPanel() {
   const [goals, setGoals] = useState([]);
   const [loading, setLoading] = useState(true);
   const { isOpen, onOpen, onClose } = useDisclosure();
 
+  const goalsRef = useRef(goals);
+  goalsRef.current = goals;
+
   const fetchGoals = async () => {
     setLoading(true);
     try {
-      const res = await getSavingsGoals();
+      const res = await getSavingsGoals({ entries: ENTRIES_PREVIEW });
       setGoals(res.data || []);
     } catch (err) {
       console.error("Failed to load savings goals:", err);
@@ -44,8 +64,66 @@ export default function SavingsGoalsPanel() {
     }
   };
 
+  const patchGoal = (id, patch) =>
+    setGoals((prev) => prev.map((g) => (g.id === id ? patch(g) : g)));
+
+  const onGoal = (event) => {
+    if (event.action === "DELETED") {
+      setGoals((prev) => prev.filter((g) => g.id !== event.id));
+      return;
+    }
+
+    // Keep the embedded entries; the event carries name, target and totals
+    setGoals((prev) =>
+      prev.some((g) => g.id === event.id)
+        ? prev.map((g) =>
+            g.id === event.id
+              ? { ...g, ...event.data, entries: g.entries, entriesCursor: g.entriesCursor }
+              : g
+          )
+        : [...prev, { ...event.data, entries: [] }]
+    );
+  };
+
+  const onEntry = (event) => {
+    if (event.action === "CREATED") {
+      patchGoal(event.goalId, (g) =>
+        (g.entries || []).some((e) => e.id === event.id)
+          ? g
+          : {
+              ...withSaved(g, addAmount(g.totalSaved, event.data.amount), g.entryCount + 1),
+              entries: [event.data, ...(g.entries || [])],
+            }
+      );
+      return;
+    }
+
+    // Deletes carry only the id: patch when the entry is in a preview, else refetch
+    const owner = goalsRef.current.find((g) =>
+      (g.entries || []).some((e) => e.id === event.id)
+    );
+    if (!owner) {
+      fetchGoals();
+      return;
+    }
+
+    patchGoal(owner.id, (g) => {
+      const entry = (g.entries || []).find((e) => e.id === event.id);
+      if (!entry) return g;
+      return {
+        ...withSaved(g, addAmount(g.totalSaved, -entry.amount), g.entryCount - 1),
+        entries: g.entries.filter((e) => e.id !== event.id),
+      };
+    });
+  };
+
   useEffect(() => {
     fetchGoals();
+    return subscribeChanges((event) => {
+      if (event.action === "RESYNC") fetchGoals();
+      else if (event.entity === "GOAL") onGoal(event);
+      else if (event.entity === "ENTRY") onEntry(event);
+    });
   }, []);
 
   return (
@@ -113,7 +191,8 @@ export default function SavingsGoalsPanel() {
                 exit={{ opacity: 0, y: -20 }}
                 transition={{ delay: index * 0.1 }}
               >
-                <SavingsGoalCard goal={goal} onChange={fetchGoals} />
+                {/* The card's writes come back on the change feed */}
+                <SavingsGoalCard goal={goal} />
               </MotionBox>
             ))}
           </AnimatePresence>
@@ -126,7 +205,6 @@ export default function SavingsGoalsPanel() {
         onSave={(data) =>
           createSavingsGoal(data).then(() => {
             onClose();
-            fetchGoals();
           })
         }
       />
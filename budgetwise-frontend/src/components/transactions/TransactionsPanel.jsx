@@ -1,4 +1,4 @@
-import { useEffect, useState, useMemo } from "react";
+import { useEffect, useState, useMemo, useRef } from "react";
 import {
   Box,
   Heading,
@@ -24,9 +24,10 @@ import {
   updateExpense,
   deleteExpense,
 } from "../../api/expenseAPI";
+import { subscribeChanges } from "../../api/eventsAPI";
 import { CATEGORIES } from "../../constants/categories";
 
-const PAGE_SIZE = 10;
+const PAGE_SIZE = 50;
 
 // ✅ NEW (minimal, local)
 const INCOME_CATEGORIES = ["Salary", "Freelance", "Interest", "Business", "Other"];
@@ -45,14 +46,20 @@ export default function TransactionsPanel() {
   const [error, setError] = useState("");
   const [editingTx, setEditingTx] = useState(null);
 
+  // Token for the next page; undefined once the last page is loaded
+  const [nextCursor, setNextCursor] = useState();
+  const [loadingMore, setLoadingMore] = useState(false);
+
   const [filterCategory, setFilterCategory] = useState("All");
   const [filterDate, setFilterDate] = useState("All");
 
+  // Read by fetches started from the change feed, which subscribes once
+  const filters = useRef();
+  filters.current = { category: filterCategory, date: filterDate };
+
   const [sortKey, setSortKey] = useState("date");
   const [sortOrder, setSortOrder] = useState("desc");
 
-  const [currentPage, setCurrentPage] = useState(1);
-
   const { isOpen, onOpen, onClose } = useDisclosure();
 
   const cardBg = useColorModeValue("white", "gray.800");
@@ -60,16 +67,64 @@ export default function TransactionsPanel() {
   useEffect(() => {
     const token = sessionStorage.getItem("token");
     if (!token) return;
-    fetchExpenses();
+
+    // Changes from this and other sessions arrive on the feed and are patched in
+    return subscribeChanges((event) => {
+      if (event.action === "RESYNC") {
+        fetchExpenses();
+      } else if (event.entity !== "EXPENSE") {
+        return;
+      } else if (event.action === "CHANGED") {
+        fetchExpenses();
+      } else if (event.action === "DELETED") {
+        removeExpense(event.id);
+      } else {
+        upsertExpense(event.data);
+      }
+    });
   }, []);
 
+  // Filters go to the backend, so each page is already filtered
+  useEffect(() => {
+    if (!sessionStorage.getItem("token")) return;
+    fetchExpenses();
+  }, [filterCategory, filterDate]);
+
+  // Both are idempotent: our own writes are applied from the response and again from the feed
+  const upsertExpense = (tx) =>
+    setExpenses((prev) =>
+      prev.some((e) => e.id === tx.id)
+        ? prev.map((e) => (e.id === tx.id ? tx : e))
+        : [tx, ...prev]
+    );
+
+  const removeExpense = (id) =>
+    setExpenses((prev) => prev.filter((e) => e.id !== id));
+
+  const filterParams = () => {
+    const { category, date } = filters.current;
+    const params = { limit: PAGE_SIZE };
+    if (category !== "All") params.category = category;
+
+    const today = new Date().toISOString().slice(0, 10);
+    if (date === "Today") {
+      params.from = today;
+      params.to = today;
+    } else if (date === "Month") {
+      params.from = today.slice(0, 8) + "01";
+      params.to = today;
+    }
+    return params;
+  };
+
+  // Reloads the first page; later pages come in through loadMore
   const fetchExpenses = async () => {
     setLoading(true);
     setError("");
     try {
-      const res = await getExpenses();
+      const res = await getExpenses(filterParams());
       setExpenses(Array.isArray(res.data) ? res.data : []);
-      setCurrentPage(1);
+      setNextCursor(res.nextCursor);
     } catch {
       setError("Failed to load transactions");
     } finally {
@@ -77,25 +132,45 @@ export default function TransactionsPanel() {
     }
   };
 
+  const loadMore = async () => {
+    setLoadingMore(true);
+    setError("");
+    try {
+      const res = await getExpenses({ ...filterParams(), cursor: nextCursor });
+      // Skip rows the change feed already patched in
+      setExpenses((prev) => [
+        ...prev,
+        ...(res.data || []).filter((tx) => !prev.some((e) => e.id === tx.id)),
+      ]);
+      setNextCursor(res.nextCursor);
+    } catch {
+      setError("Failed to load transactions");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleAdd = async (data) => {
-    await addExpense(data);
+    const res = await addExpense(data);
     onClose();
-    fetchExpenses();
+    upsertExpense(res.data);
   };
 
   const handleUpdate = async (data) => {
-    await updateExpense(editingTx.id, data);
+    const res = await updateExpense(editingTx.id, data);
     setEditingTx(null);
     onClose();
-    fetchExpenses();
+    upsertExpense(res.data);
   };
 
   const handleDelete = async (id) => {
     if (!window.confirm("Delete this transaction?")) return;
     await deleteExpense(id);
-    fetchExpenses();
+    removeExpense(id);
   };
 
+  // Pages arrive filtered; this keeps rows patched in from the feed in line too.
+  // Sorting applies to the pages loaded so far.
   const processedExpenses = useMemo(() => {
     return expenses
       .filter((tx) => {
@@ -125,24 +200,6 @@ export default function TransactionsPanel() {
       });
   }, [expenses, filterCategory, filterDate, sortKey, sortOrder]);
 
-  const totalPages = Math.ceil(processedExpenses.length / PAGE_SIZE);
-
-  const paginatedExpenses = processedExpenses.slice(
-    (currentPage - 1) * PAGE_SIZE,
-    currentPage * PAGE_SIZE
-  );
-
-  const visiblePages = useMemo(() => {
-    if (totalPages <= 5) return [...Array(totalPages)].map((_, i) => i + 1);
-
-    let start = Math.max(1, currentPage - 2);
-    let end = Math.min(totalPages, start + 4);
-
-    if (end - start < 4) start = Math.max(1, end - 4);
-
-    return [...Array(end - start + 1)].map((_, i) => start + i);
-  }, [currentPage, totalPages]);
-
   return (
     <MotionBox
       initial={{ opacity: 0, y: 30 }}
@@ -292,14 +349,14 @@ export default function TransactionsPanel() {
           <Text color="red.500" textAlign="center">
             {error}
           </Text>
-        ) : paginatedExpenses.length === 0 ? (
+        ) : processedExpenses.length === 0 ? (
           <MotionText textAlign="center" color="gray.500" mt={10}>
             No transactions found matching your filters.
           </MotionText>
         ) : (
           <AnimatePresence>
             <MotionVStack spacing={4} align="stretch">
-              {paginatedExpenses.map((tx, index) => (
+              {processedExpenses.map((tx, index) => (
                 <MotionBox
                   key={tx.id}
                   initial={{ opacity: 0, y: 20 }}
@@ -321,19 +378,20 @@ export default function TransactionsPanel() {
         )}
       </Box>
 
-      {/* Pagination */}
-      {totalPages > 1 && (
-        <HStack justify="center" spacing={2} pt={4}>
-          {visiblePages.map((p) => (
-            <MotionButton
-              key={p}
-              bg={p === currentPage ? "teal.500" : "gray.200"}
-              color={p === currentPage ? "white" : "gray.800"}
-              onClick={() => setCurrentPage(p)}
-            >
-              {p}
-            </MotionButton>
-          ))}
+      {/* Load more */}
+      {nextCursor && !loading && (
+        <HStack justify="center" pt={4}>
+          <MotionButton
+            whileHover={{ scale: 1.05 }}
+            whileTap={{ scale: 0.95 }}
+            variant="outline"
+            colorScheme="teal"
+            rounded="full"
+            onClick={loadMore}
+            isLoading={loadingMore}
+          >
+            Load more
+          </MotionButton>
         </HStack>
       )}
 
@@ -23,7 +23,7 @@ import jsPDF from "jspdf";
 import autoTable from "jspdf-autotable";
 
 import AppHeader from "../components/AppHeader";
-import { getExpenses } from "../api/expenseAPI";
+import { getAllExpenses, exportExpenses } from "../api/expenseAPI";
 import { getBudgetSummary } from "../api/budgetAPI";
 import { getSavingsGoals } from "../api/savingsAPI";
 import { groupByMonthIncomeExpense } from "../utils/financeUtils";
@@ -58,7 +58,7 @@ export default function Profile() {
   useEffect(() => {
     const month = new Date().toISOString().slice(0, 7);
 
-    getExpenses().then((res) => setTransactions(res.data || []));
+    getAllExpenses().then((res) => setTransactions(res.data || []));
     getBudgetSummary(month)
       .then((res) => setBudget(res.data))
       .catch(() => setBudget(null));
@@ -99,22 +99,11 @@ export default function Profile() {
   }, [monthly]);
 
   /* ---------- CSV Export ---------- */
-  const exportTransactionsCSV = () => {
-    const rows = [
-      ["Date", "Title", "Type", "Category", "Amount"],
-      ...transactions.map((t) => [
-        t.date,
-        t.title,
-        t.type,
-        t.category,
-        t.amount,
-      ]),
-    ];
-
-    const csv = rows.map((r) => r.join(",")).join("\n");
-    const blob = new Blob([csv], { type: "text/csv" });
+  const exportTransactionsCSV = async () => {
+    // Streamed by the backend, so large histories don't have to be held in the page
+    const res = await exportExpenses({ format: "csv" });
     const link = document.createElement("a");
-    link.href = URL.createObjectURL(blob);
+    link.href = URL.createObjectURL(res.data);
     link.download = "budgetwise-transactions.csv";
     link.click();
   };